@@ -10,12 +10,19 @@ public abstract class Activity implements Conflict {
 
 	/** Course's title. */
 	private String title;
-	/** Course's meeting days */
-	private String meetingDays;
-	/** Course's starting time */
-	private int startTime;
-	/** Course's ending time */
-	private int endTime;
+	/** Course's meeting days as a bitmask of the day bits and the ARRANGED bit */
+	private byte meetingDays;
+	/**
+	 * Course's meeting days as they were set, kept only when they aren't the
+	 * standard String for the bitmask
+	 */
+	private String meetingDaysString;
+	/** Course's starting time in minutes since midnight */
+	private short startMinute;
+	/** Course's ending time in minutes since midnight */
+	private short endMinute;
+	/** Meeting string from the last time it was requested, or null if it must be rebuilt */
+	private String meetingString;
 	/** 100 in order to get the minutes and hour from military time */
 	public static final int HUNNA = 100;
 	/** Minimum minutes before 0 must be added: 10 */
@@ -28,6 +35,55 @@ public abstract class Activity implements Conflict {
 	public static final int UPPER_TIME = 2359;
 	/** Highest number of minimum */
 	public static final int UPPER_HOUR = 59;
+	/** Minutes in an hour, used to convert military time to minutes since midnight */
+	public static final int MINUTES_PER_HOUR = 60;
+	/** Day bit for Monday */
+	public static final int MONDAY = 1;
+	/** Day bit for Tuesday */
+	public static final int TUESDAY = 1 << 1;
+	/** Day bit for Wednesday */
+	public static final int WEDNESDAY = 1 << 2;
+	/** Day bit for Thursday */
+	public static final int THURSDAY = 1 << 3;
+	/** Day bit for Friday */
+	public static final int FRIDAY = 1 << 4;
+	/** Day bit for Saturday */
+	public static final int SATURDAY = 1 << 5;
+	/** Day bit for Sunday */
+	public static final int SUNDAY = 1 << 6;
+	/** Bit that marks arranged meeting days */
+	private static final int ARRANGED = 1 << 7;
+	/** Bits of the meeting days bitmask that are days */
+	private static final int DAYS = ARRANGED - 1;
+	/** Day letters in the order of their day bits */
+	private static final String DAY_LETTERS = "MTWHFSU";
+	/** Standard meeting days String for each bitmask, shared by every Activity */
+	private static final String[] MEETING_DAYS = new String[ARRANGED + 1];
+	/** Minutes in a day */
+	private static final int MINUTES_PER_DAY = 24 * 60;
+	/** Formatted time for each minute of the day, such as 1:30PM */
+	private static final String[] TIMES = new String[MINUTES_PER_DAY];
+
+	static {
+		for (int mask = 0; mask < ARRANGED; mask++) {
+			StringBuilder days = new StringBuilder();
+			for (int day = 0; day < DAY_LETTERS.length(); day++) {
+				if ((mask & (1 << day)) != 0) {
+					days.append(DAY_LETTERS.charAt(day));
+				}
+			}
+			MEETING_DAYS[mask] = days.toString();
+		}
+		MEETING_DAYS[ARRANGED] = "A";
+
+		for (int minute = 0; minute < TIMES.length; minute++) {
+			int hour = minute / MINUTES_PER_HOUR;
+			int min = minute % MINUTES_PER_HOUR;
+			String suffix = hour < TWELVE ? "AM" : "PM";
+			hour = hour % TWELVE == ZERO ? TWELVE : hour % TWELVE;
+			TIMES[minute] = hour + ":" + (min < TEN ? "0" : "") + min + suffix;
+		}
+	}
 
 	/**
 	 * Gets the short version of information
@@ -81,22 +137,32 @@ public abstract class Activity implements Conflict {
 	 * @throws IllegalArgumentException if title is null or empty string
 	 */
 	public void setTitle(String title) {
-		if (title == null) {
-			throw new IllegalArgumentException();
-		}
-		if (title.equals("")) {
+		if (!isValidTitle(title)) {
 			throw new IllegalArgumentException();
 		}
 		this.title = title;
 	}
 
+	/**
+	 * Checks if a title is valid without throwing an exception
+	 * 
+	 * @param title the title
+	 * @return true if title isn't null or empty
+	 */
+	public static boolean isValidTitle(String title) {
+		return title != null && !title.equals("");
+	}
+
 	/**
 	 * Gets the Course's meeting days
 	 * 
 	 * @return the meetingDays
 	 */
 	public String getMeetingDays() {
-		return meetingDays;
+		if (meetingDaysString != null) {
+			return meetingDaysString;
+		}
+		return MEETING_DAYS[meetingDays & (ARRANGED | DAYS)];
 	}
 
 	/**
@@ -115,7 +181,73 @@ public abstract class Activity implements Conflict {
 		if (meetingDays.equals("")) {
 			throw new IllegalArgumentException();
 		}
-		this.meetingDays = meetingDays;
+		int mask = meetingDays.equals("A") ? ARRANGED : toDaysMask(meetingDays);
+		this.meetingDays = (byte) mask;
+		this.meetingDaysString = MEETING_DAYS[mask].equals(meetingDays) ? null : meetingDays;
+		this.meetingString = null;
+	}
+
+	/**
+	 * Gets the Activity's meeting days as a bitmask of the day bits (MONDAY
+	 * through SUNDAY). Arranged activities have no meeting days and return 0.
+	 * 
+	 * @return the meeting days bitmask
+	 */
+	public int getMeetingDaysMask() {
+		return meetingDays & DAYS;
+	}
+
+	/**
+	 * Converts a meeting days String into a bitmask of the day bits. Characters
+	 * that are not days, such as 'A' for arranged, add no bits.
+	 * 
+	 * @param meetingDays the meeting days to convert
+	 * @return the meeting days bitmask
+	 */
+	public static int toDaysMask(String meetingDays) {
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			mask |= toDayBit(meetingDays.charAt(i));
+		}
+		return mask;
+	}
+
+	/**
+	 * Converts a bitmask of the day bits into meeting days in the standard
+	 * MTWHFSU order. An empty bitmask is arranged and becomes "A".
+	 * 
+	 * @param mask the meeting days bitmask
+	 * @return the meeting days
+	 */
+	public static String toMeetingDays(int mask) {
+		return MEETING_DAYS[mask == 0 ? ARRANGED : mask & DAYS];
+	}
+
+	/**
+	 * Gets the day bit for a single meeting day character
+	 * 
+	 * @param day the meeting day character
+	 * @return the day bit, or 0 if the character isn't a day
+	 */
+	private static int toDayBit(char day) {
+		switch (day) {
+		case 'M':
+			return MONDAY;
+		case 'T':
+			return TUESDAY;
+		case 'W':
+			return WEDNESDAY;
+		case 'H':
+			return THURSDAY;
+		case 'F':
+			return FRIDAY;
+		case 'S':
+			return SATURDAY;
+		case 'U':
+			return SUNDAY;
+		default:
+			return 0;
+		}
 	}
 
 	/**
@@ -124,7 +256,7 @@ public abstract class Activity implements Conflict {
 	 * @return the startTime
 	 */
 	public int getStartTime() {
-		return startTime;
+		return startMinute / MINUTES_PER_HOUR * HUNNA + startMinute % MINUTES_PER_HOUR;
 	}
 
 	/**
@@ -133,7 +265,7 @@ public abstract class Activity implements Conflict {
 	 * @return the endTime
 	 */
 	public int getEndTime() {
-		return endTime;
+		return endMinute / MINUTES_PER_HOUR * HUNNA + endMinute % MINUTES_PER_HOUR;
 	}
 
 	/**
@@ -146,123 +278,81 @@ public abstract class Activity implements Conflict {
 	 *                                  time, and there is a time listed for 'A'
 	 */
 	public void setActivityTime(int startTime, int endTime) {
-		if (meetingDays.equals("A") && startTime != ZERO && endTime != ZERO) {
+		if (meetingDays == (byte) ARRANGED && startTime != ZERO && endTime != ZERO) {
+			throw new IllegalArgumentException();
+		}
+		if (!isValidTime(startTime) || !isValidTime(endTime) || endTime < startTime) {
 			throw new IllegalArgumentException();
 		}
 		int startHour = startTime / HUNNA;
 		int startMin = startTime % HUNNA;
 		int endHour = endTime / HUNNA;
 		int endMin = endTime % HUNNA;
+		this.startMinute = (short) (startHour * MINUTES_PER_HOUR + startMin);
+		this.endMinute = (short) (endHour * MINUTES_PER_HOUR + endMin);
+		this.meetingString = null;
+	}
 
-		if (startTime < ZERO || startTime > UPPER_TIME || startMin > UPPER_HOUR) {
-			throw new IllegalArgumentException();
-		}
-
-		if (endTime < ZERO || endTime > UPPER_TIME || endMin > UPPER_HOUR) {
-			throw new IllegalArgumentException();
-		}
-
-		if (endHour < startHour) {
-			throw new IllegalArgumentException();
-		}
+	/**
+	 * Checks if a military time is valid without throwing an exception. Of two
+	 * valid times, the later one is always the larger number.
+	 * 
+	 * @param time the military time
+	 * @return true if time is between 0000 and 2359 and its minutes are at most 59
+	 */
+	public static boolean isValidTime(int time) {
+		return time >= ZERO && time <= UPPER_TIME && time % HUNNA <= UPPER_HOUR;
+	}
 
-		if (endHour == startHour && endMin < startMin) {
-			throw new IllegalArgumentException();
-		}
+	/**
+	 * Gets the Activity's start time in minutes since midnight
+	 * 
+	 * @return the start minute
+	 */
+	public int getStartMinute() {
+		return startMinute;
+	}
 
-		this.startTime = startTime;
-		this.endTime = endTime;
+	/**
+	 * Gets the Activity's end time in minutes since midnight
+	 * 
+	 * @return the end minute
+	 */
+	public int getEndMinute() {
+		return endMinute;
 	}
 
 	/**
-	 * Returns a string with meeting days and time information
+	 * Returns a string with meeting days and time information. The string is
+	 * built the first time it is requested after the meeting days or time change.
 	 * 
 	 * @return String representation of meeting days and time
 	 */
 	public String getMeetingString() {
-		int startHour = startTime / HUNNA;
-		int startMin = startTime % HUNNA;
-		int endHour = endTime / HUNNA;
-		int endMin = endTime % HUNNA;
-
-		String start = "";
-		String end = "";
-
-		if (startHour >= ZERO && startHour < TWELVE) {
-			if (startHour == ZERO) {
-				start += "12:";
-				if (startMin < TEN) {
-					start += "0" + startMin + "AM";
-				} else {
-					start += startMin + "AM";
-				}
-			} else {
-				start += startHour + ":";
-				if (startMin < TEN) {
-					start += "0" + startMin + "AM";
-				} else {
-					start += startMin + "AM";
-				}
-			}
-		} else {
-			startHour = startHour % TWELVE;
-			if (startHour == ZERO) {
-				start += "12:";
-				if (startMin < TEN) {
-					start += "0" + startMin + "PM";
-				} else {
-					start += startMin + "PM";
-				}
-			} else {
-				start += startHour + ":";
-				if (startMin < TEN) {
-					start += "0" + startMin + "PM";
-				} else {
-					start += startMin + "PM";
-				}
-			}
-		}
-
-		if (endHour >= ZERO && endHour < TWELVE) {
-			if (endHour == ZERO) {
-				end += "12:";
-				if (endMin < TEN) {
-					end += "0" + endMin + "AM";
-				} else {
-					end += endMin + "AM";
-				}
-			} else {
-				end += endHour + ":";
-				if (endMin < TEN) {
-					end += "0" + endMin + "AM";
-				} else {
-					end += endMin + "AM";
-				}
-			}
-		} else {
-			endHour = endHour % TWELVE;
-			if (endHour == ZERO) {
-				end += "12:";
-				if (endMin < TEN) {
-					end += "0" + endMin + "PM";
-				} else {
-					end += endMin + "PM";
-				}
-			} else {
-				end += endHour + ":";
-				if (endMin < TEN) {
-					end += "0" + endMin + "PM";
-				} else {
-					end += endMin + "PM";
-				}
-			}
+		if (meetingString == null) {
+			meetingString = buildMeetingString();
 		}
+		return meetingString;
+	}
 
-		if (meetingDays.equals("A")) {
+	/**
+	 * Builds the string with meeting days and time information
+	 * 
+	 * @return String representation of meeting days and time
+	 */
+	protected String buildMeetingString() {
+		if (meetingDays == (byte) ARRANGED) {
 			return "Arranged";
-		} else {
-			return meetingDays + " " + start + "-" + end;
 		}
+		return getMeetingDays() + " " + TIMES[startMinute] + "-" + TIMES[endMinute];
+	}
+
+	/**
+	 * Discards the meeting string so it is rebuilt the next time it is requested.
+	 * Subclasses call this when a field their meeting string uses changes.
+	 */
+	protected void resetMeetingString() {
+		meetingString = null;
 	}
 
 	/**
@@ -272,9 +362,9 @@ public abstract class Activity implements Conflict {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + endTime;
-		result = prime * result + ((meetingDays == null) ? 0 : meetingDays.hashCode());
-		result = prime * result + startTime;
+		result = prime * result + getEndTime();
+		result = prime * result + getMeetingDays().hashCode();
+		result = prime * result + getStartTime();
 		result = prime * result + ((title == null) ? 0 : title.hashCode());
 		return result;
 	}
@@ -291,14 +381,16 @@ public abstract class Activity implements Conflict {
 		if (getClass() != obj.getClass())
 			return false;
 		Activity other = (Activity) obj;
-		if (endTime != other.endTime)
+		if (endMinute != other.endMinute)
 			return false;
-		if (meetingDays == null) {
-			if (other.meetingDays != null)
+		if (meetingDays != other.meetingDays)
+			return false;
+		if (meetingDaysString == null) {
+			if (other.meetingDaysString != null)
 				return false;
-		} else if (!meetingDays.equals(other.meetingDays))
+		} else if (!meetingDaysString.equals(other.meetingDaysString))
 			return false;
-		if (startTime != other.startTime)
+		if (startMinute != other.startMinute)
 			return false;
 		if (title == null) {
 			if (other.title != null)
@@ -317,31 +409,23 @@ public abstract class Activity implements Conflict {
 	 */
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
-		boolean conflict = false;
-		
-		if(this.getMeetingDays().equals(possibleConflictingActivity.getMeetingDays())) {
-			conflict = true;
+		if (conflictsWith(possibleConflictingActivity)) {
+			throw new ConflictException();
 		}
+	}
 
-		if (this.getMeetingDays().contains("A") || possibleConflictingActivity.getMeetingDays().contains("A")) {
-			conflict = false;
-		}
-		
-
-		int start = possibleConflictingActivity.getStartTime();
-		int end = possibleConflictingActivity.getEndTime();
-		int startA = this.getStartTime();
-		int endA = this.getEndTime();
-
-		if (conflict) {
-			if (start <= startA && end >= endA) {
-				throw new ConflictException();
-			} else if (start >= startA && start <= endA) {
-				throw new ConflictException();
-			} else if (end >= startA && end <= endA) {
-				throw new ConflictException();
-			}
-		}
+	/**
+	 * Checks if the two activities share a meeting day and their times overlap.
+	 * Times are inclusive, so an activity ending when the other starts is a
+	 * conflict. Arranged activities never conflict.
+	 * 
+	 * @param possibleConflictingActivity activity to check against
+	 * @return true if the activities conflict
+	 */
+	public boolean conflictsWith(Activity possibleConflictingActivity) {
+		return (meetingDays & possibleConflictingActivity.meetingDays & DAYS) != 0
+				&& startMinute <= possibleConflictingActivity.endMinute
+				&& possibleConflictingActivity.startMinute <= endMinute;
 	}
 
-}
\ No newline at end of file
+}
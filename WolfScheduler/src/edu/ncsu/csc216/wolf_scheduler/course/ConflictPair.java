@@ -0,0 +1,54 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+/**
+ * Two activities that were found to conflict with each other
+ * 
+ * @author Anisha Ponnapati
+ *
+ */
+public class ConflictPair {
+
+	/** Activity that comes first in the checked collection */
+	private Activity first;
+	/** Activity that comes second in the checked collection */
+	private Activity second;
+
+	/**
+	 * Constructs a pair of conflicting activities
+	 * 
+	 * @param first  activity that comes first in the checked collection
+	 * @param second activity that comes second in the checked collection
+	 */
+	public ConflictPair(Activity first, Activity second) {
+		this.first = first;
+		this.second = second;
+	}
+
+	/**
+	 * Gets the activity that comes first in the checked collection
+	 * 
+	 * @return the first activity
+	 */
+	public Activity getFirst() {
+		return first;
+	}
+
+	/**
+	 * Gets the activity that comes second in the checked collection
+	 * 
+	 * @return the second activity
+	 */
+	public Activity getSecond() {
+		return second;
+	}
+
+	/**
+	 * Returns both activities separated by " conflicts with "
+	 * 
+	 * @return String representation of the pair
+	 */
+	@Override
+	public String toString() {
+		return first.toString() + " conflicts with " + second.toString();
+	}
+}
@@ -0,0 +1,123 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Finds every conflicting pair in a collection of activities at once. For each
+ * meeting day the activities are sorted by start time and swept in order while
+ * keeping the activities that haven't ended yet. Every activity still open when
+ * another starts overlaps it, so the work is proportional to sorting plus the
+ * number of conflicts instead of checking every pair.
+ * 
+ * @author Anisha Ponnapati
+ *
+ */
+public class ConflictSweep {
+
+	/** Number of meeting days in a week */
+	private static final int DAYS = 7;
+	/** Shift that moves the start minute above the activity position in a sort key */
+	private static final int KEY_SHIFT = 32;
+
+	/**
+	 * Finds every pair of activities in the collection that conflict, using the
+	 * same rules as Activity.checkConflict. Each pair is reported once, even if
+	 * the activities overlap on several days, with the activities in the order
+	 * they appear in the collection.
+	 * 
+	 * @param activities activities to check
+	 * @return list of conflicting pairs, empty if there are no conflicts
+	 */
+	public static List<ConflictPair> findConflicts(Collection<? extends Activity> activities) {
+		Activity[] all = activities.toArray(new Activity[activities.size()]);
+		byte[] masks = new byte[all.length];
+		int[] starts = new int[all.length];
+		int[] ends = new int[all.length];
+		for (int i = 0; i < all.length; i++) {
+			masks[i] = (byte) all[i].getMeetingDaysMask();
+			starts[i] = all[i].getStartMinute();
+			ends[i] = all[i].getEndMinute();
+		}
+		long[] pairs = findConflicts(masks, starts, ends);
+		List<ConflictPair> conflicts = new ArrayList<ConflictPair>(pairs.length);
+		for (long pair : pairs) {
+			conflicts.add(new ConflictPair(all[first(pair)], all[second(pair)]));
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Finds every conflicting pair in columns of meeting days masks and start and
+	 * end minutes, without needing an object per activity. Each pair is reported
+	 * once as a long holding the lower position in its high half and the higher
+	 * position in its low half; use first() and second() to unpack it.
+	 * 
+	 * @param masks  meeting days bitmask of each activity
+	 * @param starts start minute of each activity
+	 * @param ends   end minute of each activity
+	 * @return packed conflicting pairs
+	 */
+	public static long[] findConflicts(byte[] masks, int[] starts, int[] ends) {
+		int n = masks.length;
+		long[] conflicts = new long[Math.max(1, n)];
+		int found = 0;
+		long[] order = new long[n];
+		int[] open = new int[n];
+
+		for (int day = 0; day < DAYS; day++) {
+			int bit = 1 << day;
+			int count = 0;
+			for (int i = 0; i < n; i++) {
+				if ((masks[i] & bit) != 0) {
+					order[count++] = (long) starts[i] << KEY_SHIFT | i;
+				}
+			}
+			Arrays.sort(order, 0, count);
+
+			int openCount = 0;
+			for (int j = 0; j < count; j++) {
+				int current = (int) order[j];
+				int kept = 0;
+				for (int k = 0; k < openCount; k++) {
+					int other = open[k];
+					if (ends[other] >= starts[current]) {
+						open[kept++] = other;
+						// Only report the pair on the first day the two share
+						if (Integer.lowestOneBit(masks[other] & masks[current]) == bit) {
+							if (found == conflicts.length) {
+								conflicts = Arrays.copyOf(conflicts, found * 2);
+							}
+							conflicts[found++] = (long) Math.min(other, current) << KEY_SHIFT | Math.max(other, current);
+						}
+					}
+				}
+				open[kept++] = current;
+				openCount = kept;
+			}
+		}
+		return Arrays.copyOf(conflicts, found);
+	}
+
+	/**
+	 * Gets the lower position of a packed pair
+	 * 
+	 * @param pair pair from findConflicts
+	 * @return position of the first activity
+	 */
+	public static int first(long pair) {
+		return (int) (pair >>> KEY_SHIFT);
+	}
+
+	/**
+	 * Gets the higher position of a packed pair
+	 * 
+	 * @param pair pair from findConflicts
+	 * @return position of the second activity
+	 */
+	public static int second(long pair) {
+		return (int) pair;
+	}
+}
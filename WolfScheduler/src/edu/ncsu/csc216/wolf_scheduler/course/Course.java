@@ -82,15 +82,22 @@ public class Course extends Activity {
 	 *                                  greater than 6
 	 */
 	private void setName(String name) {
-		if (name == null) {
-			throw new IllegalArgumentException();
-		}
-		if (name.length() < FOUR || name.length() > SIX) {
+		if (!isValidName(name)) {
 			throw new IllegalArgumentException();
 		}
 		this.name = name;
 	}
 
+	/**
+	 * Checks if a name is valid without throwing an exception
+	 * 
+	 * @param name the name
+	 * @return true if name isn't null and has 4 to 6 characters
+	 */
+	public static boolean isValidName(String name) {
+		return name != null && name.length() >= FOUR && name.length() <= SIX;
+	}
+
 	/**
 	 * Gets the Course's section
 	 * 
@@ -108,22 +115,28 @@ public class Course extends Activity {
 	 * @throws IllegalArgumentException if section is null and not 3 digits
 	 */
 	public void setSection(String section) {
-		if (section == null) {
+		if (!isValidSection(section)) {
 			throw new IllegalArgumentException();
 		}
+		this.section = section;
+	}
 
-		if (section.length() != THREE) {
-			throw new IllegalArgumentException();
+	/**
+	 * Checks if a section is valid without throwing an exception
+	 * 
+	 * @param section the section
+	 * @return true if section isn't null and is exactly 3 digits
+	 */
+	public static boolean isValidSection(String section) {
+		if (section == null || section.length() != THREE) {
+			return false;
 		}
-		char c;
 		for (int i = 0; i < section.length(); i++) {
-			c = section.charAt(i);
-			if (!Character.isDigit(c)) {
-				throw new IllegalArgumentException();
+			if (!Character.isDigit(section.charAt(i))) {
+				return false;
 			}
 		}
-
-		this.section = section;
+		return true;
 	}
 
 	/**
@@ -144,12 +157,22 @@ public class Course extends Activity {
 	 *                                  greater than 5
 	 */
 	public void setCredits(int credits) {
-		if (credits < 1 || credits > 5) {
+		if (!isValidCredits(credits)) {
 			throw new IllegalArgumentException();
 		}
 		this.credits = credits;
 	}
 
+	/**
+	 * Checks if credits are valid without throwing an exception
+	 * 
+	 * @param credits the credits
+	 * @return true if credits are from 1 to 5
+	 */
+	public static boolean isValidCredits(int credits) {
+		return credits >= 1 && credits <= 5;
+	}
+
 	/**
 	 * Gets the Course intructor's id
 	 * 
@@ -166,15 +189,22 @@ public class Course extends Activity {
 	 * @throws IllegalArgumentException if id is null or empty string
 	 */
 	public void setInstructorId(String instructorId) {
-		if (instructorId == null) {
-			throw new IllegalArgumentException();
-		}
-		if (instructorId.equals("")) {
+		if (!isValidInstructorId(instructorId)) {
 			throw new IllegalArgumentException();
 		}
 		this.instructorId = instructorId;
 	}
 
+	/**
+	 * Checks if an instructor id is valid without throwing an exception
+	 * 
+	 * @param instructorId the instructor id
+	 * @return true if instructorId isn't null or empty
+	 */
+	public static boolean isValidInstructorId(String instructorId) {
+		return instructorId != null && !instructorId.equals("");
+	}
+
 	/**
 	 * Returns a comma separated value String of all Course fields.
 	 * 
@@ -265,26 +295,33 @@ public class Course extends Activity {
 	 */
 	@Override
 	public void setMeetingDays(String meetingDays) {
-		if (meetingDays == null) {
+		if (!isValidMeetingDays(meetingDays)) {
 			throw new IllegalArgumentException();
 		}
-	
-		if (meetingDays.equals("")) {
-			throw new IllegalArgumentException();
+		super.setMeetingDays(meetingDays);
+	}
+
+	/**
+	 * Checks if a Course's meeting days are valid without throwing an exception
+	 * 
+	 * @param meetingDays the meeting days
+	 * @return true if meetingDays is only the letters MTWHF, or is exactly "A"
+	 */
+	public static boolean isValidMeetingDays(String meetingDays) {
+		if (meetingDays == null || meetingDays.equals("")) {
+			return false;
 		}
-	
 		char c;
 		for (int i = 0; i < meetingDays.length(); i++) {
 			c = meetingDays.charAt(i);
 			if (c != 'M' && c != 'T' && c != 'W' && c != 'H' && c != 'F' && c != 'A') {
-				throw new IllegalArgumentException();
+				return false;
 			}
-	
 			if (c == 'A' && meetingDays.length() != 1) {
-				throw new IllegalArgumentException();
+				return false;
 			}
 		}
-		super.setMeetingDays(meetingDays);
+		return true;
 	}
 
 	/**
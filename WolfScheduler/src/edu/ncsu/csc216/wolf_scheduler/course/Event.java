@@ -41,10 +41,20 @@ public class Event extends Activity {
 	 * @throws IllegalArgumentException if number is less than 1 or more than 4
 	 */
 	public void setWeeklyRepeat(int weeklyRepeat) {
-		if(weeklyRepeat < 1 || weeklyRepeat > 4) {
+		if(!isValidWeeklyRepeat(weeklyRepeat)) {
 			throw new IllegalArgumentException("Invalid weekly repeat");
 		}
 		this.weeklyRepeat = weeklyRepeat;
+		resetMeetingString();
+	}
+
+	/**
+	 * Checks if a weekly repeat is valid without throwing an exception
+	 * @param weeklyRepeat how many times it occurs
+	 * @return true if it is from 1 to 4
+	 */
+	public static boolean isValidWeeklyRepeat(int weeklyRepeat) {
+		return weeklyRepeat >= 1 && weeklyRepeat <= 4;
 	}
 
 	/**
@@ -97,15 +107,13 @@ public class Event extends Activity {
 	}
 
 	/**
-	 * Returns a meeting string of the number of times it is repeated
-	 * @see edu.ncsu.csc216.wolf_scheduler.course.Activity#getMeetingString()
+	 * Builds a meeting string of the number of times it is repeated
+	 * @see edu.ncsu.csc216.wolf_scheduler.course.Activity#buildMeetingString()
 	 * @return s the String including weekly repeats
 	 */
 	@Override
-	public String getMeetingString() {
-		String s = " (every " + weeklyRepeat + " weeks)";
-		s = super.getMeetingString() + s;
-		return s;
+	protected String buildMeetingString() {
+		return super.buildMeetingString() + " (every " + weeklyRepeat + " weeks)";
 	}
 
 	/**
@@ -126,21 +134,29 @@ public class Event extends Activity {
 	 */
 	@Override
 	public void setMeetingDays(String meetingDays) {
-		if (meetingDays == null) {
+		if (!isValidMeetingDays(meetingDays)) {
 			throw new IllegalArgumentException();
 		}
-	
-		if (meetingDays.equals("")) {
-			throw new IllegalArgumentException();
+		super.setMeetingDays(meetingDays);
+	}
+
+	/**
+	 * Checks if meeting days are valid for an event without throwing an exception
+	 * @param meetingDays the meeting days
+	 * @return true if meeting days aren't null or empty and are only days of the week
+	 */
+	public static boolean isValidMeetingDays(String meetingDays) {
+		if (meetingDays == null || meetingDays.equals("")) {
+			return false;
 		}
 		char c;
 		for (int i = 0; i < meetingDays.length(); i++) {
 			c = meetingDays.charAt(i);
 			if (c != 'M' && c != 'T' && c != 'W' && c != 'H' && c != 'F' && c != 'S' && c != 'U') {
-				throw new IllegalArgumentException();
+				return false;
 			}
 		}
-		super.setMeetingDays(meetingDays);
+		return true;
 	}
 
 	/**
@@ -3,20 +3,83 @@
  */
 package edu.ncsu.csc216.wolf_scheduler.io;
 
-import java.io.File;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
 
 /**
- * Writes files with list of activities
+ * Reads and writes files with lists of activities
  * @author Anisha Ponnapati
  *
  */
 public class ActivityRecordIO {
 
+	/** Number of chars buffered before they are written to the file */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Finds the catalog section a course line in a schedule file refers to
+	 * @author Anisha Ponnapati
+	 */
+	public interface CourseLookup {
+
+		/**
+		 * Gets a section by course name and section
+		 * @param name course name
+		 * @param section course section
+		 * @return the section, or null if there isn't one
+		 */
+		Course getCourse(String name, String section);
+	}
+
+	/**
+	 * Reads the activities in a file written by writeActivityRecords(), such as
+	 * an exported schedule. Course lines aren't parsed into new courses: their
+	 * name and section are looked up, so the schedule shares the catalog's
+	 * sections. Event lines become new events. Lines are checked without
+	 * exceptions, so a file with many bad lines reads as fast as one without.
+	 * Nothing is checked across lines; duplicates and conflicts are left to the
+	 * caller.
+	 * @param fileName name of file
+	 * @param courses catalog to link course lines to
+	 * @return one entry per line in file order, which is null if the line isn't a
+	 * valid record or names a course that isn't in the catalog
+	 * @throws FileNotFoundException thrown if file can't be found or read
+	 */
+	public static ArrayList<Activity> readActivityRecords(String fileName, CourseLookup courses)
+			throws FileNotFoundException {
+		Reader fileReader = new InputStreamReader(new FileInputStream(fileName), Charset.defaultCharset());
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		try {
+			CourseRecordParser parser = new CourseRecordParser(fileReader);
+			while (parser.nextLine()) {
+				activities.add(parser.readActivity(courses));
+			}
+			if (parser.getError() != null) {
+				throw new FileNotFoundException(fileName);
+			}
+		} finally {
+			try {
+				fileReader.close();
+			} catch (IOException e) {
+				//nothing was written, so there's nothing to lose
+			}
+		}
+		return activities;
+	}
+
 	/**
 	 * Writes records of Course to a file
 	 * @param fileName name of file
@@ -24,14 +87,44 @@ public class ActivityRecordIO {
 	 * @throws IOException thrown if there is trouble in writing the file
 	 */
 	public static void writeActivityRecords(String fileName, ArrayList<Activity> courses) throws IOException {
-		PrintStream fileWriter = new PrintStream(new File(fileName));
-	
-		for (Activity c : courses) {
-            fileWriter.println(c.toString());
-        }
-        
-        fileWriter.close();
-		
+		writeActivityRecords(fileName, (Iterable<Activity>) courses);
+	}
+
+	/**
+	 * Writes records of activities to a file, one line each, as the activities
+	 * are iterated. The records go through a large buffer into a temporary file
+	 * in the same directory, which is forced to disk and then moved over the
+	 * file in one step, so a crash or failed write leaves either the old file or
+	 * the new one and never part of one. A symbolic link to the file is kept and
+	 * the file it points to is replaced, and the old file's permissions carry
+	 * over. Any error writing, forcing or moving the file is thrown, and the
+	 * temporary file is deleted.
+	 * @param fileName name of file
+	 * @param activities activities to write, in order
+	 * @throws IOException thrown if there is trouble in writing the file
+	 */
+	public static void writeActivityRecords(String fileName, Iterable<? extends Activity> activities)
+			throws IOException {
+		AtomicFile file = new AtomicFile(fileName);
+		try {
+			FileChannel channel = file.open();
+			try {
+				Writer fileWriter = new BufferedWriter(
+						new OutputStreamWriter(Channels.newOutputStream(channel), Charset.defaultCharset()), BUFFER_SIZE);
+				String lineSeparator = System.lineSeparator();
+				for (Activity a : activities) {
+					fileWriter.write(a.toString());
+					fileWriter.write(lineSeparator);
+				}
+				fileWriter.flush();
+				channel.force(true);
+			} finally {
+				channel.close();
+			}
+			file.commit();
+		} finally {
+			file.discard();
+		}
 	}
 
 }
@@ -0,0 +1,133 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+
+/**
+ * Replaces a file all at once. The new contents are written to a temporary file
+ * in the same directory as the file, which is then moved over the file in one
+ * step, so readers see either the old file or the new one and never part of
+ * one, and a reader that has the old file open or mapped keeps the old
+ * contents. If the file is a symbolic link, the file it points to is replaced
+ * and the link is kept. The temporary file gets the old file's POSIX
+ * permissions, where the file system has them, and the directory is forced
+ * to disk after the move so the move itself survives a crash.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+final class AtomicFile {
+
+	/** Largest number of symbolic links followed to find the real file */
+	private static final int MAX_LINKS = 40;
+
+	/** File being replaced, with symbolic links followed */
+	private Path target;
+	/** Temporary file holding the new contents */
+	private Path temp;
+	/** Whether the temporary file has been moved over the target */
+	private boolean committed;
+
+	/**
+	 * Creates the temporary file for replacing a file
+	 *
+	 * @param fileName name of the file to replace
+	 * @throws IOException if the temporary file can't be created, or there are
+	 *                     too many symbolic links
+	 */
+	AtomicFile(String fileName) throws IOException {
+		target = resolve(Paths.get(fileName).toAbsolutePath());
+		// java.io's temp files get the usual permissions for new files, which a
+		// new file should have too
+		temp = File.createTempFile("." + target.getFileName() + "-", ".tmp", target.getParent().toFile()).toPath();
+		try {
+			PosixFileAttributeView view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+			if (view != null && Files.exists(target)) {
+				Files.setPosixFilePermissions(temp, view.readAttributes().permissions());
+			}
+		} catch (IOException e) {
+			try {
+				Files.deleteIfExists(temp);
+			} catch (IOException deleteError) {
+				e.addSuppressed(deleteError);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Follows symbolic links to the file they point to
+	 *
+	 * @param path absolute path of the file
+	 * @return path of the real file, which may not exist yet
+	 * @throws IOException if a link can't be read or there are too many links
+	 */
+	private static Path resolve(Path path) throws IOException {
+		for (int i = 0; i < MAX_LINKS; i++) {
+			if (!Files.isSymbolicLink(path)) {
+				return path;
+			}
+			path = path.getParent().resolve(Files.readSymbolicLink(path)).normalize();
+		}
+		throw new IOException("Too many symbolic links: " + path);
+	}
+
+	/**
+	 * Opens the temporary file for writing
+	 *
+	 * @return channel positioned at the start of the temporary file
+	 * @throws IOException if the file can't be opened
+	 */
+	FileChannel open() throws IOException {
+		return FileChannel.open(temp, StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * Moves the temporary file over the file and forces the directory to disk.
+	 * The temporary file must already have been written and forced.
+	 *
+	 * @throws IOException if the file can't be moved
+	 */
+	void commit() throws IOException {
+		try {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+		committed = true;
+		try {
+			FileChannel directory = FileChannel.open(target.getParent(), StandardOpenOption.READ);
+			try {
+				directory.force(true);
+			} finally {
+				directory.close();
+			}
+		} catch (IOException e) {
+			// Some platforms, such as Windows, can't open a directory; the move is still done
+		}
+	}
+
+	/**
+	 * Deletes the temporary file unless it was committed. This is called from a
+	 * finally block after a failed write, so an error deleting the file is
+	 * ignored rather than hiding the error that made the write fail.
+	 */
+	void discard() {
+		if (!committed) {
+			try {
+				Files.deleteIfExists(temp);
+			} catch (IOException e) {
+				// The write already failed, and a leftover temporary file is harmless
+			}
+		}
+	}
+
+}
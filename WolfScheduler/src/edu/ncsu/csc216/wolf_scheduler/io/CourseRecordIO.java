@@ -5,9 +5,32 @@ package edu.ncsu.csc216.wolf_scheduler.io;
 
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 
@@ -18,91 +41,385 @@ import edu.ncsu.csc216.wolf_scheduler.course.Course;
  */
 public class CourseRecordIO {
 
+	/** Smallest file, in bytes, that readCourseRecords() splits across threads */
+	public static final long PARALLEL_THRESHOLD = 4L << 20;
+
 	/**
-	 * Reads records for course from a file
+	 * Reads records for course from a file. Files of at least PARALLEL_THRESHOLD
+	 * bytes are read across all of the machine's cores.
 	 * @param fileName file name
 	 * @return a list of courses
 	 * @throws FileNotFoundException thrown if file can't be found or read
 	 */
 	public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-		Scanner fileReader = new Scanner(new FileInputStream(fileName));
-	    ArrayList<Course> courses = new ArrayList<Course>();
-	    while (fileReader.hasNextLine()) {
-	        try {
-	            Course course = readCourse(fileReader.nextLine());
-	            boolean duplicate = false;
-	            for (int i = 0; i < courses.size(); i++) {
-	                Course c = courses.get(i);
-	                if (course.getName().equals(c.getName()) &&
-	                        course.getSection().equals(c.getSection())) {
-	                    //it's a duplicate
-	                    duplicate = true;
-	                }
-	            }
-	            if (!duplicate) {
-	                courses.add(course);
-	            }
-	        } catch (IllegalArgumentException e) {
-	            //skip the line
+		return loadCourseRecords(fileName).getCourses();
+	}
+
+	/**
+	 * Reads records for course from a file, splitting a large file into chunks
+	 * that end at line breaks and reading the chunks at the same time. The
+	 * result is the same as reading the file from start to end: invalid lines
+	 * are skipped and only the first course with each name and section is kept.
+	 *
+	 * Files are only split if the platform charset always encodes \n as the
+	 * byte 0x0A and never uses that byte inside another character, which holds
+	 * for UTF-8 and single-byte charsets such as ISO-8859-1.
+	 * @param fileName file name
+	 * @param threads largest number of threads to read with
+	 * @param parallelThreshold smallest file, in bytes, to read with more than one thread
+	 * @return a list of courses
+	 * @throws FileNotFoundException thrown if file can't be found or read
+	 * @throws IllegalArgumentException if threads is less than 1
+	 */
+	public static ArrayList<Course> readCourseRecords(String fileName, int threads, long parallelThreshold)
+			throws FileNotFoundException {
+		return loadCourseRecords(fileName, threads, parallelThreshold).getCourses();
+	}
+
+	/**
+	 * Reads records for course from a file the same way as readCourseRecords(),
+	 * and also reports the lines dropped as duplicates and the lines rejected as
+	 * invalid. Lines are checked without exceptions, so a file with many bad
+	 * lines loads as fast as one without.
+	 * @param fileName file name
+	 * @return the courses, duplicate lines, and rejected lines
+	 * @throws FileNotFoundException thrown if file can't be found or read
+	 */
+	public static CourseRecordReport loadCourseRecords(String fileName) throws FileNotFoundException {
+		return loadCourseRecords(fileName, Runtime.getRuntime().availableProcessors(), PARALLEL_THRESHOLD);
+	}
+
+	/**
+	 * Reads records for course from a file the same way as
+	 * readCourseRecords(String, int, long), and also reports the lines dropped
+	 * as duplicates and the lines rejected as invalid
+	 * @param fileName file name
+	 * @param threads largest number of threads to read with
+	 * @param parallelThreshold smallest file, in bytes, to read with more than one thread
+	 * @return the courses, duplicate lines, and rejected lines
+	 * @throws FileNotFoundException thrown if file can't be found or read
+	 * @throws IllegalArgumentException if threads is less than 1
+	 */
+	public static CourseRecordReport loadCourseRecords(String fileName, int threads, long parallelThreshold)
+			throws FileNotFoundException {
+		if (threads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads.");
+		}
+		Charset charset = Charset.defaultCharset();
+		RandomAccessFile file = new RandomAccessFile(fileName, "r");
+		try {
+			long size = file.length();
+			if (threads == 1 || size < parallelThreshold || !splitsOnNewline(charset)) {
+				CourseRecordReport report = new CourseRecordReport(true);
+				readCourses(new InputStreamReader(Channels.newInputStream(file.getChannel()), charset), report);
+				return report;
+			}
+			return readChunks(file.getChannel(), size, threads, charset);
+		} catch (IOException e) {
+			throw new FileNotFoundException(fileName);
+		} finally {
+			try {
+				file.close();
+			} catch (IOException e) {
+				//nothing was written, so there's nothing to lose
+			}
+		}
+	}
+
+	/**
+	 * Streams the courses in a file as the file is read, so only one line is held
+	 * in memory at a time and the first course is ready before the rest of the
+	 * file is read. Invalid lines are skipped, but unlike readCourseRecords(),
+	 * repeated names and sections are not, since that would mean remembering
+	 * every one; a caller that needs them dropped can filter on name and section.
+	 * The stream must be closed to close the file. If the file can't be read part
+	 * way through, the stream throws an UncheckedIOException instead of ending.
+	 * @param fileName file name
+	 * @return sequential stream of the courses in file order
+	 * @throws FileNotFoundException thrown if file can't be found
+	 */
+	public static Stream<Course> streamCourseRecords(String fileName) throws FileNotFoundException {
+		final Reader fileReader = new InputStreamReader(new FileInputStream(fileName), Charset.defaultCharset());
+		Iterator<Course> courses = new CourseIterator(new CourseRecordParser(fileReader));
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(courses,
+				Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							fileReader.close();
+						} catch (IOException e) {
+							//nothing was written, so there's nothing to lose
+						}
+					}
+				});
+	}
+
+	/**
+	 * Reads the course on each line of a file, parsing only the lines that weren't
+	 * read before. Lines are split and checked the same way readCourseRecords()
+	 * does, without an exception for each invalid line, but repeated names and
+	 * sections are kept.
+	 * @param fileName file name
+	 * @param known course read from each line of an earlier read, or null for
+	 *        invalid lines, which is used instead of parsing those lines again
+	 * @param read map to put the course read from each line of this file in, or
+	 *        null for invalid lines
+	 * @return course read from each line in file order, or null for invalid lines
+	 * @throws FileNotFoundException thrown if file can't be found
+	 * @throws IOException thrown if the file can't be read to the end
+	 */
+	public static List<Course> readCourseLines(String fileName, Map<String, Course> known,
+			Map<String, Course> read) throws IOException {
+		Reader fileReader = new InputStreamReader(new FileInputStream(fileName), Charset.defaultCharset());
+		CourseRecordParser parser = new CourseRecordParser(fileReader);
+		List<Course> courses = new ArrayList<Course>();
+		try {
+			while (parser.nextLine()) {
+				String line = parser.getLine();
+				Course course;
+				if (read.containsKey(line)) {
+					course = read.get(line);
+				} else {
+					course = known.containsKey(line) ? known.get(line) : parser.readLine();
+					read.put(line, course);
+				}
+				courses.add(course);
+			}
+		} finally {
+			try {
+				fileReader.close();
+			} catch (IOException e) {
+				//nothing was written, so there's nothing to lose
+			}
+		}
+		if (parser.getError() != null) {
+			throw parser.getError();
+		}
+		return courses;
+	}
+
+	/**
+	 * Reads the valid courses from a reader into a report and closes the reader
+	 * @param fileReader reader for the records
+	 * @param report report to add the courses to
+	 * @throws IOException if the reader fails before the end of the records
+	 */
+	private static void readCourses(Reader fileReader, CourseRecordReport report) throws IOException {
+		CourseRecordParser parser = new CourseRecordParser(fileReader);
+	    while (parser.nextLine()) {
+	        Course course = parser.readLine();
+	        if (course != null) {
+	            report.add(parser.getLineNumber(), course);
+	        } else {
+	            report.reject(parser.getLineNumber(), parser.getRejectedField(), parser.getRejectedReason());
 	        }
 	    }
-	    fileReader.close();
-	    return courses;
+	    report.setLineCount(parser.getLineNumber());
+	    try {
+	        fileReader.close();
+	    } catch (IOException e) {
+	        //nothing was written, so there's nothing to lose
+	    }
+	    if (parser.getError() != null) {
+	        throw parser.getError();
+	    }
 	}
 
-	private static Course readCourse(String nextLine) {
-		Course course;
-		Scanner s = new Scanner(nextLine);
-		s.useDelimiter(",");
-		
+	/**
+	 * Reads a file in chunks on a pool of threads and merges the chunks in file
+	 * order, keeping the first course with each name and section
+	 * @param channel the file
+	 * @param size number of bytes in the file
+	 * @param threads number of chunks and threads
+	 * @param charset charset of the file
+	 * @return the courses, duplicate lines, and rejected lines
+	 * @throws IOException if the file can't be read
+	 */
+	private static CourseRecordReport readChunks(final FileChannel channel, long size, int threads,
+			final Charset charset) throws IOException {
+		long[] bounds = new long[threads + 1];
+		for (int i = 1; i < threads; i++) {
+			bounds[i] = Math.max(bounds[i - 1], afterNewline(channel, size * i / threads, size));
+		}
+		bounds[threads] = size;
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
 		try {
-			String name = s.next();
-			String title = s.next();
-			String section = s.next();
-			int credits = s.nextInt();
-			String instructor = s.next();
-			String meetingDays = s.next();
-			
-			if(name == null || name.equals("")) {
-				s.close();
-				throw new IllegalArgumentException();
+			List<Future<CourseRecordReport>> parts = new ArrayList<Future<CourseRecordReport>>();
+			for (int i = 0; i < threads; i++) {
+				final long start = bounds[i];
+				final long end = bounds[i + 1];
+				parts.add(pool.submit(new Callable<CourseRecordReport>() {
+					@Override
+					public CourseRecordReport call() throws IOException {
+						CourseRecordReport part = new CourseRecordReport(false);
+						readCourses(new InputStreamReader(new ChannelRegionStream(channel, start, end), charset),
+								part);
+						return part;
+					}
+				}));
 			}
-			if(title == null || title.equals("")) {
-				s.close();
-				throw new IllegalArgumentException();
+
+			CourseRecordReport report = new CourseRecordReport(true);
+			for (Future<CourseRecordReport> part : parts) {
+				report.addAll(part.get());
 			}
-			if(section == null || section.equals("")) {
-				s.close();
-				throw new IllegalArgumentException();
+			return report;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
 			}
-			if(instructor == null || instructor.equals("")) {
-				s.close();
-				throw new IllegalArgumentException();
+			if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
 			}
-			if(meetingDays == null || meetingDays.equals("")) {
-				s.close();
-				throw new IllegalArgumentException();
+			throw new IOException(e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Finds where the line holding a byte ends
+	 * @param channel the file
+	 * @param position the byte
+	 * @param size number of bytes in the file
+	 * @return position just past the next \n at or after position, or size if there isn't one
+	 * @throws IOException if the file can't be read
+	 */
+	private static long afterNewline(FileChannel channel, long position, long size) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(8192);
+		while (position < size) {
+			buffer.clear();
+			int read = channel.read(buffer, position);
+			if (read < 0) {
+				break;
 			}
-			
-			if (meetingDays.contains("A")) {
-				if (s.hasNext()) {
-					s.close();
-					throw new IllegalArgumentException();
+			for (int i = 0; i < read; i++) {
+				if (buffer.get(i) == '\n') {
+					return position + i + 1;
+				}
+			}
+			position += read;
+		}
+		return size;
+	}
+
+	/**
+	 * Checks if a file in a charset can be split at any 0x0A byte
+	 * @param charset the charset
+	 * @return true if 0x0A is always \n
+	 */
+	private static boolean splitsOnNewline(Charset charset) {
+		if (!charset.canEncode() || !Arrays.equals(new byte[] {'\n'}, "\n".getBytes(charset))) {
+			return false;
+		}
+		return charset.equals(StandardCharsets.UTF_8) || charset.newEncoder().maxBytesPerChar() == 1;
+	}
+
+	/**
+	 * Reads a Course from one line of a course records file
+	 * @param nextLine line to read
+	 * @return the course
+	 * @throws IllegalArgumentException if the line isn't a valid course record
+	 */
+	public static Course readCourse(String nextLine) {
+		return CourseRecordParser.parse(nextLine);
+	}
+
+	/**
+	 * Iterator over the valid courses read by a parser
+	 * @author Anisha Ponnapati
+	 */
+	private static class CourseIterator implements Iterator<Course> {
+
+		/** Parser reading the file */
+		private CourseRecordParser parser;
+		/** Next course to return, or null if it hasn't been read yet */
+		private Course next;
+		/** Whether the parser has no more lines */
+		private boolean done;
+
+		/**
+		 * Constructs an iterator over the courses a parser reads
+		 * @param parser the parser
+		 */
+		CourseIterator(CourseRecordParser parser) {
+			this.parser = parser;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null && !done) {
+				if (!parser.nextLine()) {
+					done = true;
+					if (parser.getError() != null) {
+						throw new UncheckedIOException(parser.getError());
+					}
 				} else {
-					course = new Course(name, title, section, credits, instructor, meetingDays);
+					next = parser.readLine();
 				}
-			} else {
-				int start = s.nextInt();
-				int end = s.nextInt();
-				course = new Course(name, title, section, credits, instructor, meetingDays, start, end);
 			}
-		} catch (NoSuchElementException e) {
-			throw new IllegalArgumentException();
+			return next != null;
+		}
+
+		@Override
+		public Course next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Course course = next;
+			next = null;
+			return course;
 		}
+	}
 
-		s.close();
-		return course;
-		
+	/**
+	 * Stream of the bytes in part of a file. It reads at its own position, so
+	 * any number of them can share one channel.
+	 * @author Anisha Ponnapati
+	 */
+	private static class ChannelRegionStream extends InputStream {
+
+		/** The file */
+		private FileChannel channel;
+		/** Position of the next byte */
+		private long position;
+		/** Position just past the last byte */
+		private long end;
+
+		/**
+		 * Constructs a stream over part of a file
+		 * @param channel the file
+		 * @param start position of the first byte
+		 * @param end position just past the last byte
+		 */
+		ChannelRegionStream(FileChannel channel, long start, long end) {
+			this.channel = channel;
+			this.position = start;
+			this.end = end;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] one = new byte[1];
+			return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (position >= end) {
+				return -1;
+			}
+			int count = (int) Math.min(len, end - position);
+			int read = channel.read(ByteBuffer.wrap(b, off, count), position);
+			if (read > 0) {
+				position += read;
+			}
+			return read;
+		}
 	}
 
 }
@@ -0,0 +1,494 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordReport.Field;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordReport.Reason;
+
+/**
+ * Reads course records straight out of a char buffer. Lines are found and split
+ * on commas by index, and credits and times are parsed from the buffer without
+ * making Strings for them. The only objects made for a valid line are its Course
+ * and the Strings it holds, and names, titles, instructor ids and meeting days
+ * that repeat are shared through a small cache.
+ *
+ * Lines are read the same way a Scanner with a comma delimiter read them, so
+ * every line is accepted or rejected exactly as before: one comma at the start
+ * of each field is skipped, so a line may start with a comma and a trailing
+ * comma is ignored; fields may be empty; numbers may have a sign and any Unicode
+ * digits; extra fields after the end time are ignored, but an arranged course
+ * may not have any. Lines end at \n, \r, \r\n, or the Unicode line and
+ * paragraph separators U+0085, U+2028 and U+2029.
+ *
+ * The same buffer also reads the lines of a schedule file, which mixes course
+ * lines with event lines.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+final class CourseRecordParser {
+
+	/** Number of chars read from the reader at a time */
+	private static final int CHUNK = 1 << 16;
+	/** Number of slots in the string cache, a power of two */
+	private static final int CACHE_SIZE = 1 << 12;
+	/** Field delimiter */
+	private static final char COMMA = ',';
+
+	/** Reader the records come from, or null when parsing a single line */
+	private Reader reader;
+	/** Chars read so far that haven't been used up */
+	private char[] buf;
+	/** Number of chars in buf */
+	private int limit;
+	/** Index in buf where the next line starts */
+	private int next;
+	/** Whether the reader has no more chars */
+	private boolean eof;
+	/** Error that stopped the reader, or null */
+	private IOException error;
+	/** Index in buf where the current line starts */
+	private int lineStart;
+	/** Index in buf just past the end of the current line */
+	private int lineEnd;
+	/** Number of lines read, which is the line number of the current line */
+	private int lineNumber;
+	/** Index of the next field in the current line */
+	private int pos;
+	/** Start of the last field found */
+	private int fieldStart;
+	/** End of the last field found */
+	private int fieldEnd;
+	/** Recently made strings, by hash */
+	private String[] cache;
+	/** Value of the last int field read */
+	private int intValue;
+	/** Field the current line was rejected for, or null */
+	private Field rejectedField;
+	/** Why the current line was rejected, or null */
+	private Reason rejectedReason;
+
+	/**
+	 * Constructs a parser that reads lines from a reader
+	 *
+	 * @param reader source of the records
+	 */
+	CourseRecordParser(Reader reader) {
+		this.reader = reader;
+		this.buf = new char[CHUNK];
+		this.cache = new String[CACHE_SIZE];
+	}
+
+	/**
+	 * Constructs a parser for one line
+	 *
+	 * @param line the line
+	 */
+	private CourseRecordParser(String line) {
+		this.buf = line.toCharArray();
+		this.limit = buf.length;
+		this.eof = true;
+		this.lineStart = 0;
+		this.lineEnd = buf.length;
+	}
+
+	/**
+	 * Reads a Course from one line
+	 *
+	 * @param line line to read
+	 * @return the course
+	 * @throws IllegalArgumentException if the line isn't a valid course record
+	 */
+	static Course parse(String line) {
+		return new CourseRecordParser(line).parseLine();
+	}
+
+	/**
+	 * Moves to the next line. If the reader fails, the lines read before the
+	 * failure are returned and then there are no more, and getError() says why,
+	 * so the caller can tell a failed read from the end of the file.
+	 *
+	 * @return false if there are no more lines
+	 */
+	boolean nextLine() {
+		int i = next;
+		while (true) {
+			while (i < limit) {
+				char c = buf[i];
+				if (c == '\n' || c == '\u2028' || c == '\u2029' || c == '\u0085') {
+					return setLine(i, i + 1);
+				}
+				if (c == '\r') {
+					if (i + 1 < limit) {
+						return setLine(i, buf[i + 1] == '\n' ? i + 2 : i + 1);
+					}
+					if (eof) {
+						return setLine(i, i + 1);
+					}
+					// The \n of a \r\n may be in the next chunk
+					break;
+				}
+				i++;
+			}
+			if (eof) {
+				if (next == limit) {
+					return false;
+				}
+				return setLine(limit, limit);
+			}
+			i -= next;
+			fill();
+		}
+	}
+
+	/**
+	 * Makes the chars from next up to a line terminator the current line
+	 *
+	 * @param end          index of the terminator
+	 * @param afterNewline index just past the terminator
+	 * @return true
+	 */
+	private boolean setLine(int end, int afterNewline) {
+		lineStart = next;
+		lineEnd = end;
+		next = afterNewline;
+		lineNumber++;
+		return true;
+	}
+
+	/**
+	 * Gets the line number of the current line
+	 *
+	 * @return line number, starting at 1
+	 */
+	int getLineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * Gets the text of the current line, without its line terminator
+	 *
+	 * @return the line
+	 */
+	String getLine() {
+		return new String(buf, lineStart, lineEnd - lineStart);
+	}
+
+	/**
+	 * Moves what's left of buf to the front, growing buf if it's full, and reads
+	 * more chars after it
+	 */
+	private void fill() {
+		int remaining = limit - next;
+		if (remaining == buf.length) {
+			char[] bigger = new char[buf.length * 2];
+			System.arraycopy(buf, next, bigger, 0, remaining);
+			buf = bigger;
+		} else {
+			System.arraycopy(buf, next, buf, 0, remaining);
+		}
+		next = 0;
+		limit = remaining;
+		try {
+			int read = reader.read(buf, limit, buf.length - limit);
+			if (read < 0) {
+				eof = true;
+			} else {
+				limit += read;
+			}
+		} catch (IOException e) {
+			eof = true;
+			error = e;
+		}
+	}
+
+	/**
+	 * Gets the error that stopped the reader
+	 *
+	 * @return the error, or null if the reader reached the end of its chars
+	 */
+	IOException getError() {
+		return error;
+	}
+
+	/**
+	 * Reads a Course from the current line
+	 *
+	 * @return the course
+	 * @throws IllegalArgumentException if the line isn't a valid course record
+	 */
+	Course parseLine() {
+		Course course = readLine();
+		if (course == null) {
+			throw new IllegalArgumentException();
+		}
+		return course;
+	}
+
+	/**
+	 * Reads a Course from the current line without throwing an exception. Each
+	 * field is checked with the same rules the Course setters use, so a Course is
+	 * only built once it is known to be valid.
+	 *
+	 * @return the course, or null if the line isn't a valid course record, in
+	 *         which case getRejectedField() and getRejectedReason() say why
+	 */
+	Course readLine() {
+		pos = lineStart;
+		rejectedField = null;
+		rejectedReason = null;
+		String name = nextString(Field.NAME, true);
+		if (name == null) {
+			return null;
+		}
+		if (!Course.isValidName(name)) {
+			return reject(Field.NAME, Reason.INVALID);
+		}
+		String title = nextString(Field.TITLE, true);
+		if (title == null) {
+			return null;
+		}
+		String section = nextString(Field.SECTION, false);
+		if (section == null) {
+			return null;
+		}
+		if (!Course.isValidSection(section)) {
+			return reject(Field.SECTION, Reason.INVALID);
+		}
+		if (!nextInt(Field.CREDITS)) {
+			return null;
+		}
+		int credits = intValue;
+		if (!Course.isValidCredits(credits)) {
+			return reject(Field.CREDITS, Reason.INVALID);
+		}
+		String instructor = nextString(Field.INSTRUCTOR_ID, true);
+		if (instructor == null) {
+			return null;
+		}
+		String meetingDays = nextString(Field.MEETING_DAYS, true);
+		if (meetingDays == null) {
+			return null;
+		}
+
+		if (meetingDays.indexOf('A') >= 0) {
+			if (hasNextField()) {
+				return reject(Field.START_TIME, Reason.UNEXPECTED);
+			}
+			if (!Course.isValidMeetingDays(meetingDays)) {
+				return reject(Field.MEETING_DAYS, Reason.INVALID);
+			}
+			return new Course(name, title, section, credits, instructor, meetingDays);
+		}
+		if (!Course.isValidMeetingDays(meetingDays)) {
+			return reject(Field.MEETING_DAYS, Reason.INVALID);
+		}
+		if (!nextInt(Field.START_TIME)) {
+			return null;
+		}
+		int start = intValue;
+		if (!Activity.isValidTime(start)) {
+			return reject(Field.START_TIME, Reason.INVALID);
+		}
+		if (!nextInt(Field.END_TIME)) {
+			return null;
+		}
+		int end = intValue;
+		if (!Activity.isValidTime(end) || end < start) {
+			return reject(Field.END_TIME, Reason.INVALID);
+		}
+		return new Course(name, title, section, credits, instructor, meetingDays, start, end);
+	}
+
+	/**
+	 * Reads an activity from the current line of a schedule file. A line whose
+	 * second field is made only of days of the week is an event, since a course
+	 * has its title there. A course line is linked to the catalog section with its
+	 * name and section without reading the rest of the line, and an event line is
+	 * checked with the same rules the Event setters use. Everything after the
+	 * weekly repeat is the event's details, commas and all. Unlike readLine(),
+	 * this doesn't say why a line was rejected.
+	 *
+	 * @param courses catalog to link course lines to
+	 * @return the catalog's course or a new event, or null if the line isn't a
+	 *         valid record or its course isn't in the catalog
+	 */
+	Activity readActivity(ActivityRecordIO.CourseLookup courses) {
+		pos = lineStart;
+		String title = nextString(Field.NAME, true);
+		if (title == null) {
+			return null;
+		}
+		String second = nextString(Field.TITLE, true);
+		if (second == null) {
+			return null;
+		}
+		if (!Event.isValidMeetingDays(second)) {
+			String section = nextString(Field.SECTION, false);
+			return section == null ? null : courses.getCourse(title, section);
+		}
+		if (!nextInt(Field.START_TIME) || !Activity.isValidTime(intValue)) {
+			return null;
+		}
+		int start = intValue;
+		if (!nextInt(Field.END_TIME) || !Activity.isValidTime(intValue) || intValue < start) {
+			return null;
+		}
+		int end = intValue;
+		if (!nextInt(null) || !Event.isValidWeeklyRepeat(intValue)) {
+			return null;
+		}
+		if (pos == lineEnd) {
+			return null;
+		}
+		String details = new String(buf, pos + 1, lineEnd - pos - 1);
+		return new Event(title, second, start, end, intValue, details);
+	}
+
+	/**
+	 * Records why the current line was rejected
+	 *
+	 * @param field  field that was wrong
+	 * @param reason what was wrong with it
+	 * @return null
+	 */
+	private Course reject(Field field, Reason reason) {
+		rejectedField = field;
+		rejectedReason = reason;
+		return null;
+	}
+
+	/**
+	 * Gets the field the current line was rejected for
+	 *
+	 * @return the field, or null if the line wasn't rejected
+	 */
+	Field getRejectedField() {
+		return rejectedField;
+	}
+
+	/**
+	 * Gets why the current line was rejected
+	 *
+	 * @return the reason, or null if the line wasn't rejected
+	 */
+	Reason getRejectedReason() {
+		return rejectedReason;
+	}
+
+	/**
+	 * Checks if the current line has another field
+	 *
+	 * @return true if there is another field
+	 */
+	private boolean hasNextField() {
+		int p = pos;
+		if (p < lineEnd && buf[p] == COMMA) {
+			p++;
+		}
+		return p < lineEnd;
+	}
+
+	/**
+	 * Finds the next field, setting fieldStart and fieldEnd
+	 *
+	 * @param field field expected next
+	 * @return false, with the line rejected, if there are no more fields
+	 */
+	private boolean nextField(Field field) {
+		if (!hasNextField()) {
+			reject(field, Reason.MISSING);
+			return false;
+		}
+		if (buf[pos] == COMMA) {
+			pos++;
+		}
+		fieldStart = pos;
+		while (pos < lineEnd && buf[pos] != COMMA) {
+			pos++;
+		}
+		fieldEnd = pos;
+		return true;
+	}
+
+	/**
+	 * Reads the next field as a String
+	 *
+	 * @param field  field expected next
+	 * @param shared whether the value often repeats and should come from the cache
+	 * @return the field, or null, with the line rejected, if there are no more
+	 *         fields or the field is empty
+	 */
+	private String nextString(Field field, boolean shared) {
+		if (!nextField(field)) {
+			return null;
+		}
+		int length = fieldEnd - fieldStart;
+		if (length == 0) {
+			reject(field, Reason.EMPTY);
+			return null;
+		}
+		if (!shared || cache == null) {
+			return new String(buf, fieldStart, length);
+		}
+		int hash = 0;
+		for (int i = fieldStart; i < fieldEnd; i++) {
+			hash = 31 * hash + buf[i];
+		}
+		int slot = (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+		String cached = cache[slot];
+		if (cached != null && cached.length() == length && cached.hashCode() == hash) {
+			boolean same = true;
+			for (int i = 0; i < length && same; i++) {
+				same = cached.charAt(i) == buf[fieldStart + i];
+			}
+			if (same) {
+				return cached;
+			}
+		}
+		String value = new String(buf, fieldStart, length);
+		cache[slot] = value;
+		return value;
+	}
+
+	/**
+	 * Reads the next field into intValue. It must be an optional sign and one or
+	 * more digits, and nothing else.
+	 *
+	 * @param field field expected next, or null if it isn't a course field
+	 * @return false, with the line rejected, if there are no more fields or the
+	 *         field isn't an int
+	 */
+	private boolean nextInt(Field field) {
+		if (!nextField(field)) {
+			return false;
+		}
+		int i = fieldStart;
+		boolean negative = false;
+		if (i < fieldEnd && (buf[i] == '-' || buf[i] == '+')) {
+			negative = buf[i] == '-';
+			i++;
+		}
+		if (i == fieldEnd) {
+			reject(field, fieldEnd == fieldStart ? Reason.EMPTY : Reason.NOT_A_NUMBER);
+			return false;
+		}
+		// Accumulate negatively so Integer.MIN_VALUE fits
+		int bound = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+		int value = 0;
+		for (; i < fieldEnd; i++) {
+			int digit = Character.digit(buf[i], 10);
+			if (digit < 0 || value < bound / 10 || value * 10 < bound + digit) {
+				reject(field, Reason.NOT_A_NUMBER);
+				return false;
+			}
+			value = value * 10 - digit;
+		}
+		intValue = negative ? value : -value;
+		return true;
+	}
+}
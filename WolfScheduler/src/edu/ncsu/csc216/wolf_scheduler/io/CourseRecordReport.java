@@ -0,0 +1,256 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Result of loading a course records file: the courses that were kept, the
+ * lines that were dropped because an earlier line had the same name and
+ * section, and the lines that were rejected, with the field that was wrong and
+ * why. Line numbers start at 1.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CourseRecordReport {
+
+	/** Courses kept, in file order */
+	private ArrayList<Course> courses;
+	/** Line number of each kept course */
+	private int[] courseLines;
+	/** Names and sections kept so far, or null if every course is kept */
+	private HashSet<String> keys;
+	/** Line numbers of the dropped duplicates */
+	private int[] duplicateLines;
+	/** Number of dropped duplicates */
+	private int duplicateCount;
+	/** Rejected lines, in file order */
+	private ArrayList<Rejection> rejections;
+	/** Number of lines read */
+	private int lineCount;
+
+	/**
+	 * Fields of a course record, in the order they are in a line
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	public enum Field {
+		/** Course name */
+		NAME,
+		/** Course title */
+		TITLE,
+		/** Section number */
+		SECTION,
+		/** Credit hours */
+		CREDITS,
+		/** Instructor's id */
+		INSTRUCTOR_ID,
+		/** Meeting days */
+		MEETING_DAYS,
+		/** Start time */
+		START_TIME,
+		/** End time */
+		END_TIME
+	}
+
+	/**
+	 * Reasons a field can be rejected
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	public enum Reason {
+		/** The line ends before the field */
+		MISSING,
+		/** The field is empty */
+		EMPTY,
+		/** The field should be a whole number but isn't */
+		NOT_A_NUMBER,
+		/** The field's value isn't allowed, such as a section that isn't 3 digits */
+		INVALID,
+		/** The field shouldn't be there, such as a time for an arranged course */
+		UNEXPECTED
+	}
+
+	/**
+	 * A line that was rejected, and why
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	public static class Rejection {
+
+		/** Line number */
+		private int line;
+		/** Field that was wrong */
+		private Field field;
+		/** What was wrong with it */
+		private Reason reason;
+
+		/**
+		 * Constructs a rejection
+		 *
+		 * @param line   line number
+		 * @param field  field that was wrong
+		 * @param reason what was wrong with it
+		 */
+		public Rejection(int line, Field field, Reason reason) {
+			this.line = line;
+			this.field = field;
+			this.reason = reason;
+		}
+
+		/**
+		 * Gets the line number
+		 *
+		 * @return line number, starting at 1
+		 */
+		public int getLine() {
+			return line;
+		}
+
+		/**
+		 * Gets the field that was wrong
+		 *
+		 * @return the field
+		 */
+		public Field getField() {
+			return field;
+		}
+
+		/**
+		 * Gets what was wrong with the field
+		 *
+		 * @return the reason
+		 */
+		public Reason getReason() {
+			return reason;
+		}
+
+		/**
+		 * Returns the line number, field, and reason separated by commas
+		 *
+		 * @return String representation of the rejection
+		 */
+		@Override
+		public String toString() {
+			return line + "," + field + "," + reason;
+		}
+	}
+
+	/**
+	 * Constructs an empty report
+	 *
+	 * @param unique whether to drop courses whose name and section were already
+	 *               added, or keep every course for merging into another report
+	 */
+	CourseRecordReport(boolean unique) {
+		courses = new ArrayList<Course>();
+		courseLines = new int[16];
+		keys = unique ? new HashSet<String>() : null;
+		duplicateLines = new int[16];
+		rejections = new ArrayList<Rejection>();
+	}
+
+	/**
+	 * Adds the course read from a line, unless its name and section were
+	 * already added
+	 *
+	 * @param line   line number of the course
+	 * @param course the course
+	 */
+	void add(int line, Course course) {
+		if (keys != null && !keys.add(course.getName() + "," + course.getSection())) {
+			if (duplicateCount == duplicateLines.length) {
+				duplicateLines = Arrays.copyOf(duplicateLines, duplicateCount * 2);
+			}
+			duplicateLines[duplicateCount++] = line;
+			return;
+		}
+		if (courses.size() == courseLines.length) {
+			courseLines = Arrays.copyOf(courseLines, courses.size() * 2);
+		}
+		courseLines[courses.size()] = line;
+		courses.add(course);
+	}
+
+	/**
+	 * Records a rejected line
+	 *
+	 * @param line   line number
+	 * @param field  field that was wrong
+	 * @param reason what was wrong with it
+	 */
+	void reject(int line, Field field, Reason reason) {
+		rejections.add(new Rejection(line, field, reason));
+	}
+
+	/**
+	 * Adds the courses and rejected lines from the report for the part of a file
+	 * that follows the lines already read
+	 *
+	 * @param part report for the next part of the file
+	 */
+	void addAll(CourseRecordReport part) {
+		courses.ensureCapacity(courses.size() + part.courses.size());
+		for (int i = 0; i < part.courses.size(); i++) {
+			add(lineCount + part.courseLines[i], part.courses.get(i));
+		}
+		for (Rejection rejection : part.rejections) {
+			reject(lineCount + rejection.getLine(), rejection.getField(), rejection.getReason());
+		}
+		lineCount += part.lineCount;
+	}
+
+	/**
+	 * Sets the number of lines read
+	 *
+	 * @param lineCount number of lines
+	 */
+	void setLineCount(int lineCount) {
+		this.lineCount = lineCount;
+	}
+
+	/**
+	 * Gets the courses kept
+	 *
+	 * @return courses in file order
+	 */
+	public ArrayList<Course> getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Gets the line numbers of the courses dropped because an earlier line had
+	 * the same name and section
+	 *
+	 * @return line numbers in increasing order
+	 */
+	public int[] getDuplicateLines() {
+		return Arrays.copyOf(duplicateLines, duplicateCount);
+	}
+
+	/**
+	 * Gets the lines that aren't valid course records
+	 *
+	 * @return unmodifiable list of rejections in line order
+	 */
+	public List<Rejection> getRejections() {
+		return Collections.unmodifiableList(rejections);
+	}
+
+	/**
+	 * Gets the number of lines in the file
+	 *
+	 * @return number of lines read
+	 */
+	public int getLineCount() {
+		return lineCount;
+	}
+}
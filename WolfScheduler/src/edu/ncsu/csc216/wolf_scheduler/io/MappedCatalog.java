@@ -0,0 +1,555 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Read-only list of courses backed by a memory-mapped catalog file, the binary
+ * snapshot of a catalog. Opening the file checks its header and size but
+ * reads nothing else, and every JVM that maps the same file shares its pages
+ * through the operating system's page cache. A Course is only built the first
+ * time its row is read, and is then kept so the same row always gives back the
+ * same object. Each string is decoded once and shared by every Course that
+ * uses it. A damaged row is found when it is read; verify() checks the whole
+ * file against its checksum up front.
+ *
+ * The file is big-endian and has five parts:
+ * <ul>
+ * <li>Header: the magic number, format version, number of records, the offsets
+ * of the records, the sorted order and the string dictionary, the number of
+ * strings, and a CRC32 of every other byte in the file</li>
+ * <li>Records: one fixed-width record per section in catalog order, holding the
+ * dictionary ids of the name, title, instructor id and meeting days, the
+ * section number, credits, meeting days bitmask, and start and end minutes</li>
+ * <li>Sorted order: the record numbers sorted by name, then section, then
+ * record number, so a section can be found with a binary search</li>
+ * <li>String dictionary: the heap offset of each string, by id</li>
+ * <li>String heap: each distinct string once, as an unsigned short length
+ * followed by its UTF-8 bytes, in dictionary order</li>
+ * </ul>
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class MappedCatalog extends AbstractList<Course> implements RandomAccess {
+
+	/** Magic number at the start of every catalog file, "WOLF" in ASCII */
+	public static final int MAGIC = 0x574F4C46;
+	/** Version of the file format that write() writes */
+	public static final int VERSION = 2;
+	/** Offset of the checksum within the header */
+	private static final int CHECKSUM = 28;
+	/** Number of bytes in the header */
+	static final int HEADER_BYTES = 32;
+	/** Number of bytes in each record */
+	static final int RECORD_BYTES = 24;
+	/** Largest number of UTF-8 bytes in a heap string */
+	private static final int MAX_STRING_BYTES = 0xFFFF;
+
+	/** Offset of the name's heap offset within a record */
+	private static final int NAME = 0;
+	/** Offset of the title's heap offset within a record */
+	private static final int TITLE = 4;
+	/** Offset of the instructor id's heap offset within a record */
+	private static final int INSTRUCTOR = 8;
+	/** Offset of the meeting days' heap offset within a record */
+	private static final int DAYS = 12;
+	/** Offset of the section number within a record */
+	private static final int SECTION = 16;
+	/** Offset of the credits within a record */
+	private static final int CREDITS = 18;
+	/** Offset of the meeting days bitmask within a record */
+	private static final int MASK = 19;
+	/** Offset of the start minute within a record */
+	private static final int START = 20;
+	/** Offset of the end minute within a record */
+	private static final int END = 22;
+
+	/** Mapped contents of the file */
+	private ByteBuffer buffer;
+	/** Number of records */
+	private int count;
+	/** Offset of the first record */
+	private int recordOffset;
+	/** Offset of the sorted order */
+	private int sortedOffset;
+	/** Offset of the string dictionary */
+	private int dictionaryOffset;
+	/** Offset of the string heap */
+	private int heapOffset;
+	/** Courses built so far, by record */
+	private AtomicReferenceArray<Course> built;
+	/** Strings decoded so far, by dictionary id */
+	private AtomicReferenceArray<String> strings;
+
+	/**
+	 * Constructs a list over a mapped file whose header has been read
+	 *
+	 * @param buffer           mapped contents of the file
+	 * @param count            number of records
+	 * @param recordOffset     offset of the first record
+	 * @param sortedOffset     offset of the sorted order
+	 * @param dictionaryOffset offset of the string dictionary
+	 * @param stringCount      number of strings in the dictionary
+	 * @param heapOffset       offset of the string heap
+	 */
+	private MappedCatalog(ByteBuffer buffer, int count, int recordOffset, int sortedOffset, int dictionaryOffset,
+			int stringCount, int heapOffset) {
+		this.buffer = buffer;
+		this.count = count;
+		this.recordOffset = recordOffset;
+		this.sortedOffset = sortedOffset;
+		this.dictionaryOffset = dictionaryOffset;
+		this.heapOffset = heapOffset;
+		this.built = new AtomicReferenceArray<Course>(count);
+		this.strings = new AtomicReferenceArray<String>(stringCount);
+	}
+
+	/**
+	 * Maps a catalog file. Only the header is checked, along with the file's size
+	 * from the last string in the heap, so this takes the same time however large
+	 * the catalog is.
+	 *
+	 * @param fileName name of the file
+	 * @return read-only list of the courses in the file
+	 * @throws java.io.FileNotFoundException if the file can't be found
+	 * @throws IOException if the file can't be mapped or isn't a valid catalog file
+	 */
+	public static MappedCatalog open(String fileName) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(fileName, "r");
+		ByteBuffer buffer;
+		try {
+			FileChannel channel = file.getChannel();
+			if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Invalid catalog file.");
+			}
+			// The mapping stays valid after the file is closed
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			file.close();
+		}
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("Invalid catalog file.");
+		}
+		int count = buffer.getInt(8);
+		int recordOffset = buffer.getInt(12);
+		int sortedOffset = buffer.getInt(16);
+		int dictionaryOffset = buffer.getInt(20);
+		int stringCount = buffer.getInt(24);
+		long heapOffset = dictionaryOffset + (long) stringCount * 4;
+		if (count < 0 || recordOffset != HEADER_BYTES || sortedOffset != recordOffset + (long) count * RECORD_BYTES
+				|| dictionaryOffset != sortedOffset + (long) count * 4 || stringCount < 0
+				|| heapOffset > buffer.capacity()) {
+			throw new IOException("Invalid catalog file.");
+		}
+		MappedCatalog catalog = new MappedCatalog(buffer, count, recordOffset, sortedOffset, dictionaryOffset,
+				stringCount, (int) heapOffset);
+		// Strings are written in dictionary order, so the last one ends the file
+		long end = heapOffset;
+		try {
+			if (stringCount > 0) {
+				end = catalog.stringEnd(buffer.getInt(dictionaryOffset + (stringCount - 1) * 4));
+			}
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		if (end != buffer.capacity()) {
+			throw new IOException("Invalid catalog file.");
+		}
+		return catalog;
+	}
+
+	/**
+	 * Checks every byte of the file against the checksum in its header. open()
+	 * doesn't, so that mapping stays instant; call this when a snapshot is
+	 * deployed to find a damaged file before schedulers read it.
+	 *
+	 * @throws IOException if the file is damaged
+	 */
+	public void verify() throws IOException {
+		if (buffer.getInt(CHECKSUM) != checksum(buffer)) {
+			throw new IOException("Invalid catalog file.");
+		}
+	}
+
+	/**
+	 * Checks if a file starts with the catalog file magic number and a format
+	 * version, so it can be told apart from a course records file without reading
+	 * the rest of it. The version bytes are control characters, so even a course
+	 * records file whose first course is named WOLF isn't mistaken for one. Files
+	 * of an older version count too, so that open() rejects them instead of them
+	 * being read as course records.
+	 *
+	 * @param fileName name of the file
+	 * @return true if the file looks like a catalog file
+	 * @throws java.io.FileNotFoundException if the file can't be found
+	 * @throws IOException if the file can't be read
+	 */
+	public static boolean isCatalogFile(String fileName) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(fileName, "r");
+		try {
+			if (file.length() < HEADER_BYTES || file.readInt() != MAGIC) {
+				return false;
+			}
+			int version = file.readInt();
+			return version > 0 && version <= VERSION;
+		} finally {
+			file.close();
+		}
+	}
+
+	/**
+	 * Converts a course records file into a catalog file. The courses are read
+	 * with CourseRecordIO.readCourseRecords(), so invalid lines and repeated
+	 * names and sections are left out. The catalog file is replaced the same way
+	 * write() replaces it, so a snapshot can be rebuilt while schedulers still
+	 * have the old one mapped; they keep the old catalog until they map it again.
+	 * If the course records file can't be read, the old snapshot is left as it was.
+	 *
+	 * @param recordsFileName name of the course records file
+	 * @param fileName        name of the catalog file to write
+	 * @throws java.io.FileNotFoundException if the course records file can't be found
+	 * @throws IOException if the catalog file can't be written
+	 */
+	public static void convert(String recordsFileName, String fileName) throws IOException {
+		write(fileName, CourseRecordIO.readCourseRecords(recordsFileName));
+	}
+
+	/**
+	 * Computes the CRC32 of every byte of a catalog file except its checksum
+	 *
+	 * @param buffer contents of the file
+	 * @return the checksum
+	 */
+	private static int checksum(ByteBuffer buffer) {
+		CRC32 crc = new CRC32();
+		ByteBuffer part = buffer.duplicate();
+		part.position(0).limit(CHECKSUM);
+		crc.update(part);
+		part.limit(buffer.capacity()).position(HEADER_BYTES);
+		crc.update(part);
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Writes courses to a catalog file that can be mapped with open(). The file is
+	 * written to a temporary file in the same directory, forced to disk and then
+	 * moved over the old file in one step. The old file is never changed in place,
+	 * so any JVM that still has it mapped keeps reading the old catalog, and a
+	 * failed write leaves the old file as it was.
+	 *
+	 * @param fileName name of the file
+	 * @param courses  courses in catalog order
+	 * @throws IOException if the file can't be written or a string is too long
+	 */
+	public static void write(String fileName, List<Course> courses) throws IOException {
+		final Course[] all = courses.toArray(new Course[courses.size()]);
+		ByteArrayOutputStream heapBytes = new ByteArrayOutputStream();
+		DataOutputStream heap = new DataOutputStream(heapBytes);
+		HashMap<String, Integer> ids = new HashMap<String, Integer>();
+		List<Integer> offsets = new ArrayList<Integer>();
+		int[][] refs = new int[all.length][];
+		for (int i = 0; i < all.length; i++) {
+			refs[i] = new int[] {addString(heap, ids, offsets, all[i].getName()),
+				addString(heap, ids, offsets, all[i].getTitle()), addString(heap, ids, offsets, all[i].getInstructorId()),
+				addString(heap, ids, offsets, all[i].getMeetingDays())};
+		}
+		heap.flush();
+
+		Integer[] order = new Integer[all.length];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		// Stable, so the first of any repeated name and section is found first
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				int result = all[a].getName().compareTo(all[b].getName());
+				return result != 0 ? result : all[a].getSection().compareTo(all[b].getSection());
+			}
+		});
+
+		int sortedOffset = HEADER_BYTES + all.length * RECORD_BYTES;
+		int dictionaryOffset = sortedOffset + all.length * 4;
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.putInt(MAGIC).putInt(VERSION).putInt(all.length).putInt(HEADER_BYTES).putInt(sortedOffset)
+				.putInt(dictionaryOffset).putInt(offsets.size());
+		CRC32 crc = new CRC32();
+		crc.update(header.array(), 0, CHECKSUM);
+
+		AtomicFile file = new AtomicFile(fileName);
+		try {
+			FileChannel channel = file.open();
+			try {
+				BufferedOutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel));
+				buffered.write(header.array());
+				DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, crc));
+				for (int i = 0; i < all.length; i++) {
+					for (int ref : refs[i]) {
+						out.writeInt(ref);
+					}
+					out.writeShort(Integer.parseInt(all[i].getSection()));
+					out.writeByte(all[i].getCredits());
+					out.writeByte(all[i].getMeetingDaysMask());
+					out.writeShort(all[i].getStartMinute());
+					out.writeShort(all[i].getEndMinute());
+				}
+				for (int i = 0; i < order.length; i++) {
+					out.writeInt(order[i]);
+				}
+				for (int offset : offsets) {
+					out.writeInt(offset);
+				}
+				heapBytes.writeTo(out);
+				out.flush();
+				// The checksum is only known now, so fill in its slot in the header
+				channel.write(ByteBuffer.allocate(4).putInt(0, (int) crc.getValue()), CHECKSUM);
+				channel.force(true);
+			} finally {
+				channel.close();
+			}
+			file.commit();
+		} finally {
+			file.discard();
+		}
+	}
+
+	/**
+	 * Adds a string to the dictionary and heap unless it is already there
+	 *
+	 * @param heap    heap being written
+	 * @param ids     dictionary id of each string already written
+	 * @param offsets heap offset of each string, by dictionary id
+	 * @param value   string to add
+	 * @return dictionary id of the string
+	 * @throws IOException if the string is too long
+	 */
+	private static int addString(DataOutputStream heap, HashMap<String, Integer> ids, List<Integer> offsets,
+			String value) throws IOException {
+		Integer id = ids.get(value);
+		if (id == null) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			if (bytes.length > MAX_STRING_BYTES) {
+				throw new IOException("Invalid catalog file.");
+			}
+			id = offsets.size();
+			offsets.add(heap.size());
+			heap.writeShort(bytes.length);
+			heap.write(bytes);
+			ids.put(value, id);
+		}
+		return id;
+	}
+
+	@Override
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Gets the course at a record, building it the first time it is read
+	 *
+	 * @param index record number
+	 * @return the course
+	 * @throws IndexOutOfBoundsException if there is no such record
+	 * @throws UncheckedIOException if the record is damaged
+	 */
+	@Override
+	public Course get(int index) {
+		Course course = built.get(index);
+		if (course == null) {
+			built.compareAndSet(index, null, readCourse(index));
+			course = built.get(index);
+		}
+		return course;
+	}
+
+	/**
+	 * Finds the record of a section with a binary search of the sorted order,
+	 * without building any courses
+	 *
+	 * @param name    course name
+	 * @param section course section
+	 * @return record number of the first matching section, or -1 if there isn't one
+	 * @throws UncheckedIOException if the sorted order or a record it leads to is damaged
+	 */
+	public int indexOf(String name, String section) {
+		if (name == null || section == null) {
+			return -1;
+		}
+		int low = 0;
+		int high = count;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			int record = sortedRecord(mid);
+			int result = readString(record, NAME).compareTo(name);
+			if (result == 0) {
+				result = sectionOf(record).compareTo(section);
+			}
+			if (result < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		if (low < count) {
+			int record = sortedRecord(low);
+			if (readString(record, NAME).equals(name) && sectionOf(record).equals(section)) {
+				return record;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Reads a record number from the sorted order
+	 *
+	 * @param position position in the sorted order
+	 * @return the record number
+	 * @throws UncheckedIOException if there is no such record
+	 */
+	private int sortedRecord(int position) {
+		int record = buffer.getInt(sortedOffset + position * 4);
+		if (record < 0 || record >= count) {
+			throw damaged();
+		}
+		return record;
+	}
+
+	/**
+	 * Builds the course stored in a record
+	 *
+	 * @param index record number
+	 * @return new course
+	 * @throws UncheckedIOException if the record doesn't hold a valid course
+	 */
+	private Course readCourse(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Invalid row.");
+		}
+		int offset = recordOffset + index * RECORD_BYTES;
+		String name = readString(index, NAME);
+		String title = readString(index, TITLE);
+		String instructor = readString(index, INSTRUCTOR);
+		String days = readString(index, DAYS);
+		int credits = buffer.get(offset + CREDITS);
+		try {
+			if (buffer.get(offset + MASK) == 0) {
+				return new Course(name, title, sectionOf(index), credits, instructor, days);
+			}
+			return new Course(name, title, sectionOf(index), credits, instructor, days,
+					toTime(buffer.getShort(offset + START)), toTime(buffer.getShort(offset + END)));
+		} catch (IllegalArgumentException e) {
+			throw damaged();
+		}
+	}
+
+	/**
+	 * Reads the three digit section of a record
+	 *
+	 * @param index record number
+	 * @return the section
+	 */
+	private String sectionOf(int index) {
+		int section = buffer.getShort(recordOffset + index * RECORD_BYTES + SECTION);
+		return new String(new char[] {(char) ('0' + section / 100), (char) ('0' + section / 10 % 10),
+			(char) ('0' + section % 10)});
+	}
+
+	/**
+	 * Reads a dictionary string referenced by a record
+	 *
+	 * @param index record number
+	 * @param field offset of the dictionary id within the record
+	 * @return the string
+	 * @throws UncheckedIOException if the id or the string's heap offset is out of range
+	 */
+	private String readString(int index, int field) {
+		int id = buffer.getInt(recordOffset + index * RECORD_BYTES + field);
+		if (id < 0 || id >= strings.length()) {
+			throw damaged();
+		}
+		String value = strings.get(id);
+		if (value == null) {
+			strings.compareAndSet(id, null, decode(buffer.getInt(dictionaryOffset + id * 4)));
+			value = strings.get(id);
+		}
+		return value;
+	}
+
+	/**
+	 * Finds where a string in the heap ends
+	 *
+	 * @param offset offset of the string's length within the heap
+	 * @return offset in the file just past the string
+	 * @throws UncheckedIOException if the string doesn't fit in the file
+	 */
+	private int stringEnd(int offset) {
+		if (offset < 0 || offset > buffer.capacity() - heapOffset - 2) {
+			throw damaged();
+		}
+		int start = heapOffset + offset + 2;
+		int length = buffer.getShort(start - 2) & MAX_STRING_BYTES;
+		if (length > buffer.capacity() - start) {
+			throw damaged();
+		}
+		return start + length;
+	}
+
+	/**
+	 * Decodes a string in the heap
+	 *
+	 * @param offset offset of the string's length within the heap
+	 * @return the string
+	 * @throws UncheckedIOException if the string doesn't fit in the file
+	 */
+	private String decode(int offset) {
+		int end = stringEnd(offset);
+		int start = heapOffset + offset + 2;
+		byte[] bytes = new byte[end - start];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = buffer.get(start + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Makes the exception for damage found in a file after it was opened
+	 *
+	 * @return the exception
+	 */
+	private static UncheckedIOException damaged() {
+		return new UncheckedIOException(new IOException("Invalid catalog file."));
+	}
+
+	/**
+	 * Converts minutes since midnight to a military time
+	 *
+	 * @param minute minutes since midnight
+	 * @return military time
+	 */
+	private static int toTime(int minute) {
+		return minute / Activity.MINUTES_PER_HOUR * Activity.HUNNA + minute % Activity.MINUTES_PER_HOUR;
+	}
+}
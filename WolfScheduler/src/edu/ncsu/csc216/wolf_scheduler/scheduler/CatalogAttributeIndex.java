@@ -0,0 +1,343 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Secondary indexes over a catalog by instructor, meeting day, start hour and
+ * credits. Each index maps a value to the sorted catalog positions of the
+ * sections with that value. A query intersects the lists for the values it
+ * asks for, starting from the shortest list, so it only looks at sections that
+ * can match.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogAttributeIndex {
+
+	/** Value that matches any start time or number of credits */
+	public static final int ANY = -1;
+	/** Number of meeting days in a week */
+	private static final int DAYS = 7;
+	/** Number of start hour buckets */
+	private static final int HOURS = 24;
+	/** Largest number of credits a course can have */
+	private static final int MAX_CREDITS = 5;
+
+	/** Sections in catalog order */
+	private List<Course> catalog;
+	/** Positions of the sections taught by each instructor */
+	private HashMap<String, int[]> byInstructor;
+	/** Positions of the sections that meet on each day */
+	private int[][] byDay;
+	/** Positions of the sections that start in each hour, not counting arranged sections */
+	private int[][] byStartHour;
+	/** Positions of the sections worth each number of credits */
+	private int[][] byCredits;
+	/** Positions of the arranged sections */
+	private int[] arranged;
+
+	/**
+	 * Builds the indexes for the catalog
+	 *
+	 * @param catalog sections to index
+	 */
+	public CatalogAttributeIndex(List<Course> catalog) {
+		this.catalog = catalog;
+		HashMap<String, List<Integer>> instructors = new HashMap<String, List<Integer>>();
+		List<List<Integer>> days = newLists(DAYS);
+		List<List<Integer>> hours = newLists(HOURS);
+		List<List<Integer>> credits = newLists(MAX_CREDITS + 1);
+		List<Integer> unscheduled = new ArrayList<Integer>();
+		for (int i = 0; i < catalog.size(); i++) {
+			Course course = catalog.get(i);
+			List<Integer> taught = instructors.get(course.getInstructorId());
+			if (taught == null) {
+				taught = new ArrayList<Integer>();
+				instructors.put(course.getInstructorId(), taught);
+			}
+			taught.add(i);
+			int mask = course.getMeetingDaysMask();
+			for (int day = 0; day < DAYS; day++) {
+				if ((mask & (1 << day)) != 0) {
+					days.get(day).add(i);
+				}
+			}
+			if (mask != 0) {
+				hours.get(course.getStartMinute() / Activity.MINUTES_PER_HOUR).add(i);
+			} else {
+				unscheduled.add(i);
+			}
+			credits.get(course.getCredits()).add(i);
+		}
+
+		byInstructor = new HashMap<String, int[]>();
+		for (Map.Entry<String, List<Integer>> entry : instructors.entrySet()) {
+			byInstructor.put(entry.getKey(), toArray(entry.getValue()));
+		}
+		byDay = toArrays(days);
+		byStartHour = toArrays(hours);
+		byCredits = toArrays(credits);
+		arranged = toArray(unscheduled);
+	}
+
+	/**
+	 * Finds the sections that match every given value. Pass null or ANY to match
+	 * any value. Meeting days of "A" match only the arranged sections. Arranged
+	 * sections have no start time, so they never match a start time range.
+	 *
+	 * @param instructorId id of the instructor, or null
+	 * @param meetingDays  days the section must meet on, such as "TH", or null
+	 * @param startFrom    earliest military start time, or ANY
+	 * @param startTo      latest military start time, or ANY
+	 * @param credits      number of credits, or ANY
+	 * @return matching sections in catalog order
+	 * @throws IllegalArgumentException if a start time isn't a valid military time
+	 *                                  or the meeting days have no days and
+	 *                                  aren't "A"
+	 */
+	public List<Course> find(String instructorId, String meetingDays, int startFrom, int startTo, int credits) {
+		List<Course> found = new ArrayList<Course>();
+		for (int position : findPositions(instructorId, meetingDays, startFrom, startTo, credits)) {
+			found.add(catalog.get(position));
+		}
+		return found;
+	}
+
+	/**
+	 * Finds the catalog positions of the sections that match every given value
+	 *
+	 * @param instructorId id of the instructor, or null
+	 * @param meetingDays  days the section must meet on, or null
+	 * @param startFrom    earliest military start time, or ANY
+	 * @param startTo      latest military start time, or ANY
+	 * @param credits      number of credits, or ANY
+	 * @return sorted positions of the matching sections
+	 * @throws IllegalArgumentException if a start time isn't a valid military time
+	 *                                  or the meeting days have no days and
+	 *                                  aren't "A"
+	 */
+	public int[] findPositions(String instructorId, String meetingDays, int startFrom, int startTo, int credits) {
+		List<int[]> lists = new ArrayList<int[]>();
+		if (instructorId != null) {
+			int[] taught = byInstructor.get(instructorId);
+			lists.add(taught == null ? new int[0] : taught);
+		}
+		if (meetingDays != null) {
+			int mask = toDaysMask(meetingDays);
+			if (mask == 0) {
+				lists.add(arranged);
+			}
+			for (int day = 0; day < DAYS; day++) {
+				if ((mask & (1 << day)) != 0) {
+					lists.add(byDay[day]);
+				}
+			}
+		}
+		if (credits != ANY) {
+			lists.add(credits < 0 || credits > MAX_CREDITS ? new int[0] : byCredits[credits]);
+		}
+		boolean timed = startFrom != ANY || startTo != ANY;
+		int fromMinute = startFrom == ANY ? 0 : toMinute(startFrom);
+		int toMinute = startTo == ANY ? HOURS * Activity.MINUTES_PER_HOUR - 1 : toMinute(startTo);
+		if (timed) {
+			lists.add(getStartPositions(fromMinute, toMinute));
+		}
+
+		int[] positions = intersect(lists);
+		if (!timed) {
+			return positions;
+		}
+		// Hour buckets at the ends of the range can hold sections outside of it
+		int count = 0;
+		for (int position : positions) {
+			int start = catalog.get(position).getStartMinute();
+			if (start >= fromMinute && start <= toMinute) {
+				positions[count++] = position;
+			}
+		}
+		return Arrays.copyOf(positions, count);
+	}
+
+	/**
+	 * Gets the positions of the sections taught by an instructor
+	 *
+	 * @param instructorId id of the instructor
+	 * @return sorted positions of the sections, in a new array the caller may change
+	 */
+	public int[] getInstructorPositions(String instructorId) {
+		int[] positions = byInstructor.get(instructorId);
+		return positions == null ? new int[0] : positions.clone();
+	}
+
+	/**
+	 * Gets the positions of the sections that meet on a day
+	 *
+	 * @param dayBit day bit from Activity, such as Activity.MONDAY
+	 * @return sorted positions of the sections, in a new array the caller may
+	 *         change, or an empty array if dayBit isn't exactly one day bit
+	 */
+	public int[] getDayPositions(int dayBit) {
+		if (Integer.bitCount(dayBit) != 1 || dayBit >= 1 << DAYS) {
+			return new int[0];
+		}
+		return byDay[Integer.numberOfTrailingZeros(dayBit)].clone();
+	}
+
+	/**
+	 * Gets the positions of the sections worth a number of credits
+	 *
+	 * @param credits number of credits
+	 * @return sorted positions of the sections, in a new array the caller may change
+	 */
+	public int[] getCreditsPositions(int credits) {
+		if (credits < 0 || credits > MAX_CREDITS) {
+			return new int[0];
+		}
+		return byCredits[credits].clone();
+	}
+
+	/**
+	 * Gets the positions of the sections that start in the hours covering a range
+	 * of minutes. Sections near the ends of the range may start outside of it.
+	 *
+	 * @param fromMinute first minute of the range
+	 * @param toMinute   last minute of the range
+	 * @return sorted positions of the sections
+	 */
+	public int[] getStartPositions(int fromMinute, int toMinute) {
+		List<int[]> buckets = new ArrayList<int[]>();
+		int size = 0;
+		for (int hour = fromMinute / Activity.MINUTES_PER_HOUR; hour <= toMinute / Activity.MINUTES_PER_HOUR; hour++) {
+			buckets.add(byStartHour[hour]);
+			size += byStartHour[hour].length;
+		}
+		int[] positions = new int[size];
+		int count = 0;
+		for (int[] bucket : buckets) {
+			System.arraycopy(bucket, 0, positions, count, bucket.length);
+			count += bucket.length;
+		}
+		Arrays.sort(positions);
+		return positions;
+	}
+
+	/**
+	 * Converts meeting days to search for into a bitmask of the day bits
+	 *
+	 * @param meetingDays days to search for, such as "TH", or "A" for arranged
+	 * @return the meeting days bitmask, which is 0 for "A"
+	 * @throws IllegalArgumentException if the meeting days have no days and
+	 *                                  aren't "A"
+	 */
+	static int toDaysMask(String meetingDays) {
+		int mask = Activity.toDaysMask(meetingDays);
+		if (mask == 0 && !"A".equals(meetingDays)) {
+			throw new IllegalArgumentException("Invalid meeting days.");
+		}
+		return mask;
+	}
+
+	/**
+	 * Converts a military time to minutes since midnight
+	 *
+	 * @param time military time
+	 * @return minutes since midnight
+	 * @throws IllegalArgumentException if the time isn't a valid military time
+	 */
+	static int toMinute(int time) {
+		if (time < 0 || time > Activity.UPPER_TIME || time % Activity.HUNNA > Activity.UPPER_HOUR) {
+			throw new IllegalArgumentException("Invalid time.");
+		}
+		return time / Activity.HUNNA * Activity.MINUTES_PER_HOUR + time % Activity.HUNNA;
+	}
+
+	/**
+	 * Intersects sorted position lists, starting with the shortest
+	 *
+	 * @param lists sorted position lists
+	 * @return sorted positions in every list, or every position if there are no lists
+	 */
+	private int[] intersect(List<int[]> lists) {
+		if (lists.isEmpty()) {
+			int[] all = new int[catalog.size()];
+			for (int i = 0; i < all.length; i++) {
+				all[i] = i;
+			}
+			return all;
+		}
+		Collections.sort(lists, new Comparator<int[]>() {
+			@Override
+			public int compare(int[] a, int[] b) {
+				return Integer.compare(a.length, b.length);
+			}
+		});
+		int[] result = lists.get(0).clone();
+		int count = result.length;
+		for (int l = 1; l < lists.size() && count > 0; l++) {
+			int[] other = lists.get(l);
+			int kept = 0;
+			int j = 0;
+			for (int i = 0; i < count; i++) {
+				while (j < other.length && other[j] < result[i]) {
+					j++;
+				}
+				if (j < other.length && other[j] == result[i]) {
+					result[kept++] = result[i];
+				}
+			}
+			count = kept;
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Creates a number of empty lists
+	 *
+	 * @param count number of lists
+	 * @return the lists
+	 */
+	private static List<List<Integer>> newLists(int count) {
+		List<List<Integer>> lists = new ArrayList<List<Integer>>(count);
+		for (int i = 0; i < count; i++) {
+			lists.add(new ArrayList<Integer>());
+		}
+		return lists;
+	}
+
+	/**
+	 * Converts lists of positions to arrays
+	 *
+	 * @param lists lists of positions
+	 * @return arrays of positions
+	 */
+	private static int[][] toArrays(List<List<Integer>> lists) {
+		int[][] arrays = new int[lists.size()][];
+		for (int i = 0; i < arrays.length; i++) {
+			arrays[i] = toArray(lists.get(i));
+		}
+		return arrays;
+	}
+
+	/**
+	 * Converts a list of positions to an array
+	 *
+	 * @param list list of positions
+	 * @return array of positions
+	 */
+	private static int[] toArray(List<Integer> list) {
+		int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = list.get(i);
+		}
+		return array;
+	}
+}
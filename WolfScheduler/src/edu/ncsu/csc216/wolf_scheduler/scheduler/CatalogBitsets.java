@@ -0,0 +1,354 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Precomputed bitsets over catalog ordinals, one for each meeting day, number
+ * of credits, instructor, start hour and end hour. Bit i of a bitset is set
+ * when catalog section i has the value. A CatalogQuery compiles each of its
+ * conditions into one of these bitsets and combines them with AND and OR, so a
+ * query costs n / 64 word operations per condition however many sections match.
+ *
+ * Start and end times are bucketed by hour. A time bound is compiled as the OR
+ * of the whole hours on the right side of it plus the sections of its own hour
+ * that are on the right side, so only the sections of one bucket are looked at
+ * one by one.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogBitsets {
+
+	/** Number of bits in each word of a bitset */
+	private static final int WORD_BITS = 64;
+	/** Shift that converts an ordinal into a word index */
+	static final int WORD_SHIFT = 6;
+	/** Number of meeting days in a week */
+	private static final int DAYS = 7;
+	/** Number of hour buckets */
+	private static final int HOURS = 24;
+	/** Largest number of credits a course can have */
+	private static final int MAX_CREDITS = 5;
+
+	/** Sections in catalog order */
+	private Course[] sections;
+	/** Number of words in each bitset */
+	private int words;
+	/** Sections that meet on each day */
+	private long[][] byDay;
+	/** Arranged sections */
+	private long[] arranged;
+	/** Sections worth each number of credits */
+	private long[][] byCredits;
+	/** Sections taught by each instructor */
+	private HashMap<String, long[]> byInstructor;
+	/** Timed sections that start in each hour */
+	private long[][] byStartHour;
+	/** Timed sections that end in each hour */
+	private long[][] byEndHour;
+	/** Ordinals sorted by course name */
+	private int[] byName;
+
+	/**
+	 * Builds the bitsets for the catalog
+	 *
+	 * @param catalog sections to build the bitsets for
+	 */
+	public CatalogBitsets(List<Course> catalog) {
+		sections = catalog.toArray(new Course[catalog.size()]);
+		words = (sections.length + WORD_BITS - 1) >>> WORD_SHIFT;
+		byDay = new long[DAYS][words];
+		arranged = new long[words];
+		byCredits = new long[MAX_CREDITS + 1][words];
+		byInstructor = new HashMap<String, long[]>();
+		byStartHour = new long[HOURS][words];
+		byEndHour = new long[HOURS][words];
+		Integer[] order = new Integer[sections.length];
+		for (int i = 0; i < sections.length; i++) {
+			Course course = sections[i];
+			int mask = course.getMeetingDaysMask();
+			for (int day = 0; day < DAYS; day++) {
+				if ((mask & (1 << day)) != 0) {
+					set(byDay[day], i);
+				}
+			}
+			if (mask == 0) {
+				set(arranged, i);
+			} else {
+				set(byStartHour[course.getStartMinute() / Activity.MINUTES_PER_HOUR], i);
+				set(byEndHour[course.getEndMinute() / Activity.MINUTES_PER_HOUR], i);
+			}
+			if (course.getCredits() >= 0 && course.getCredits() <= MAX_CREDITS) {
+				set(byCredits[course.getCredits()], i);
+			}
+			long[] taught = byInstructor.get(course.getInstructorId());
+			if (taught == null) {
+				taught = new long[words];
+				byInstructor.put(course.getInstructorId(), taught);
+			}
+			set(taught, i);
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return sections[a].getName().compareTo(sections[b].getName());
+			}
+		});
+		byName = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			byName[i] = order[i];
+		}
+	}
+
+	/**
+	 * Gets the number of sections in the catalog
+	 *
+	 * @return number of sections
+	 */
+	public int size() {
+		return sections.length;
+	}
+
+	/**
+	 * Gets the section at an ordinal
+	 *
+	 * @param ordinal position of the section in the catalog
+	 * @return the section
+	 */
+	public Course getSection(int ordinal) {
+		return sections[ordinal];
+	}
+
+	/**
+	 * Gets a bitset with every section set
+	 *
+	 * @return new bitset
+	 */
+	public long[] all() {
+		long[] bits = new long[words];
+		Arrays.fill(bits, -1L);
+		int extra = sections.length & (WORD_BITS - 1);
+		if (extra != 0) {
+			bits[words - 1] = (1L << extra) - 1;
+		}
+		return bits;
+	}
+
+	/**
+	 * Gets the sections that meet on a day
+	 *
+	 * @param dayBit day bit from Activity, such as Activity.MONDAY
+	 * @return shared bitset that must not be changed
+	 */
+	public long[] day(int dayBit) {
+		return byDay[Integer.numberOfTrailingZeros(dayBit)];
+	}
+
+	/**
+	 * Gets the arranged sections
+	 *
+	 * @return shared bitset that must not be changed
+	 */
+	public long[] arranged() {
+		return arranged;
+	}
+
+	/**
+	 * Gets the sections worth a number of credits
+	 *
+	 * @param credits number of credits
+	 * @return shared bitset that must not be changed
+	 */
+	public long[] credits(int credits) {
+		if (credits < 0 || credits > MAX_CREDITS) {
+			return new long[words];
+		}
+		return byCredits[credits];
+	}
+
+	/**
+	 * Gets the sections taught by an instructor
+	 *
+	 * @param instructorId id of the instructor
+	 * @return shared bitset that must not be changed
+	 */
+	public long[] instructor(String instructorId) {
+		long[] taught = byInstructor.get(instructorId);
+		return taught == null ? new long[words] : taught;
+	}
+
+	/**
+	 * Gets the sections whose course names start with the prefix
+	 *
+	 * @param prefix start of a course name
+	 * @return new bitset
+	 * @throws IllegalArgumentException if the prefix is null
+	 */
+	public long[] namePrefix(String prefix) {
+		if (prefix == null) {
+			throw new IllegalArgumentException("Invalid name prefix.");
+		}
+		long[] bits = new long[words];
+		int low = 0;
+		int high = byName.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (sections[byName[mid]].getName().compareTo(prefix) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		for (int i = low; i < byName.length && sections[byName[i]].getName().startsWith(prefix); i++) {
+			set(bits, byName[i]);
+		}
+		return bits;
+	}
+
+	/**
+	 * Gets the timed sections that start at or after a minute of the day
+	 *
+	 * @param minute minutes since midnight
+	 * @return new bitset
+	 */
+	public long[] startsFrom(int minute) {
+		return bound(byStartHour, minute, true, true);
+	}
+
+	/**
+	 * Gets the timed sections that start at or before a minute of the day
+	 *
+	 * @param minute minutes since midnight
+	 * @return new bitset
+	 */
+	public long[] startsBy(int minute) {
+		return bound(byStartHour, minute, false, true);
+	}
+
+	/**
+	 * Gets the timed sections that end at or after a minute of the day
+	 *
+	 * @param minute minutes since midnight
+	 * @return new bitset
+	 */
+	public long[] endsFrom(int minute) {
+		return bound(byEndHour, minute, true, false);
+	}
+
+	/**
+	 * Gets the timed sections that end at or before a minute of the day
+	 *
+	 * @param minute minutes since midnight
+	 * @return new bitset
+	 */
+	public long[] endsBy(int minute) {
+		return bound(byEndHour, minute, false, false);
+	}
+
+	/**
+	 * Gets the sections that conflict with an activity: they share a meeting day
+	 * and their times overlap. Arranged activities conflict with nothing.
+	 *
+	 * @param activity activity to check against
+	 * @return new bitset
+	 */
+	public long[] conflictsWith(Activity activity) {
+		long[] bits = new long[words];
+		int mask = activity.getMeetingDaysMask();
+		for (int day = 0; day < DAYS; day++) {
+			if ((mask & (1 << day)) != 0) {
+				or(bits, byDay[day]);
+			}
+		}
+		if (mask != 0) {
+			and(bits, startsBy(activity.getEndMinute()));
+			and(bits, endsFrom(activity.getStartMinute()));
+		}
+		return bits;
+	}
+
+	/**
+	 * Compiles one side of a time bound from the hour buckets
+	 *
+	 * @param buckets  start or end hour buckets
+	 * @param minute   minutes since midnight
+	 * @param after    true for at or after the minute, false for at or before it
+	 * @param useStart true to compare start minutes, false to compare end minutes
+	 * @return new bitset
+	 */
+	private long[] bound(long[][] buckets, int minute, boolean after, boolean useStart) {
+		long[] bits = new long[words];
+		int hour = minute / Activity.MINUTES_PER_HOUR;
+		int from = after ? hour + 1 : 0;
+		int to = after ? HOURS : hour;
+		for (int h = from; h < to; h++) {
+			or(bits, buckets[h]);
+		}
+		long[] edge = buckets[hour];
+		for (int w = 0; w < words; w++) {
+			long word = edge[w];
+			while (word != 0) {
+				int i = (w << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+				int value = useStart ? sections[i].getStartMinute() : sections[i].getEndMinute();
+				if (after ? value >= minute : value <= minute) {
+					set(bits, i);
+				}
+			}
+		}
+		return bits;
+	}
+
+	/**
+	 * Sets a bit
+	 *
+	 * @param bits    bitset to change
+	 * @param ordinal bit to set
+	 */
+	static void set(long[] bits, int ordinal) {
+		bits[ordinal >>> WORD_SHIFT] |= 1L << ordinal;
+	}
+
+	/**
+	 * Keeps only the bits that are also set in other
+	 *
+	 * @param bits  bitset to change
+	 * @param other bitset to AND with
+	 */
+	static void and(long[] bits, long[] other) {
+		for (int w = 0; w < bits.length; w++) {
+			bits[w] &= other[w];
+		}
+	}
+
+	/**
+	 * Sets the bits that are set in other
+	 *
+	 * @param bits  bitset to change
+	 * @param other bitset to OR with
+	 */
+	static void or(long[] bits, long[] other) {
+		for (int w = 0; w < bits.length; w++) {
+			bits[w] |= other[w];
+		}
+	}
+
+	/**
+	 * Clears the bits that are set in other
+	 *
+	 * @param bits  bitset to change
+	 * @param other bitset of the bits to clear
+	 */
+	static void andNot(long[] bits, long[] other) {
+		for (int w = 0; w < bits.length; w++) {
+			bits[w] &= ~other[w];
+		}
+	}
+}
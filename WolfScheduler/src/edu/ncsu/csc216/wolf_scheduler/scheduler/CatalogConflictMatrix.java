@@ -0,0 +1,210 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Section-by-section conflict matrix for a catalog. Row i is a bitset with bit
+ * j set when catalog sections i and j conflict, so the matrix takes n * n / 8
+ * bytes. Rows are built in parallel on the common fork-join pool. Once built,
+ * the sections that conflict with a schedule are the OR of the rows of its
+ * courses, and checking a section against that is a single bit test.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogConflictMatrix {
+
+	/** Number of bits in each word of a row */
+	private static final int WORD_BITS = 64;
+	/** Shift that converts a section ordinal into a word index */
+	private static final int WORD_SHIFT = 6;
+	/** Number of rows a task builds without splitting */
+	private static final int ROWS_PER_TASK = 64;
+
+	/** Sections in the matrix in catalog order */
+	private Course[] sections;
+	/** Ordinal of each section in the matrix */
+	private IdentityHashMap<Course, Integer> ordinals;
+	/** Bit-packed conflict rows, one per section */
+	private long[][] rows;
+
+	/**
+	 * Builds the conflict matrix for the catalog
+	 *
+	 * @param catalog sections to build the matrix for
+	 */
+	public CatalogConflictMatrix(List<Course> catalog) {
+		sections = catalog.toArray(new Course[catalog.size()]);
+		ordinals = new IdentityHashMap<Course, Integer>(sections.length);
+		int[] masks = new int[sections.length];
+		int[] starts = new int[sections.length];
+		int[] ends = new int[sections.length];
+		for (int i = 0; i < sections.length; i++) {
+			ordinals.put(sections[i], i);
+			masks[i] = sections[i].getMeetingDaysMask();
+			starts[i] = sections[i].getStartMinute();
+			ends[i] = sections[i].getEndMinute();
+		}
+		rows = new long[sections.length][];
+		ForkJoinPool.commonPool().invoke(new RowTask(rows, masks, starts, ends, 0, sections.length));
+	}
+
+	/**
+	 * Gets the number of sections in the matrix
+	 *
+	 * @return number of sections
+	 */
+	public int size() {
+		return sections.length;
+	}
+
+	/**
+	 * Gets the section at the ordinal
+	 *
+	 * @param ordinal position of the section in the catalog
+	 * @return the section
+	 */
+	public Course getSection(int ordinal) {
+		return sections[ordinal];
+	}
+
+	/**
+	 * Gets the ordinal of a catalog section
+	 *
+	 * @param course catalog section
+	 * @return ordinal of the section, or -1 if it isn't in the matrix
+	 */
+	public int ordinalOf(Course course) {
+		Integer ordinal = ordinals.get(course);
+		if (ordinal == null) {
+			return -1;
+		}
+		return ordinal;
+	}
+
+	/**
+	 * Checks if two sections conflict
+	 *
+	 * @param first  ordinal of the first section
+	 * @param second ordinal of the second section
+	 * @return true if the sections conflict
+	 */
+	public boolean conflicts(int first, int second) {
+		return isSet(rows[first], second);
+	}
+
+	/**
+	 * Gets the sections that conflict with any catalog section in the schedule,
+	 * as the OR of their rows. Activities that aren't catalog sections, such as
+	 * events, are ignored.
+	 *
+	 * @param schedule scheduled activities
+	 * @return bitset of the sections that conflict with the schedule
+	 */
+	public long[] conflictsOf(Collection<? extends Activity> schedule) {
+		long[] blocked = new long[words(sections.length)];
+		for (Activity activity : schedule) {
+			if (activity instanceof Course) {
+				int ordinal = ordinalOf((Course) activity);
+				if (ordinal >= 0) {
+					long[] row = rows[ordinal];
+					for (int w = 0; w < blocked.length; w++) {
+						blocked[w] |= row[w];
+					}
+				}
+			}
+		}
+		return blocked;
+	}
+
+	/**
+	 * Checks if a bit is set in a bitset returned by the matrix
+	 *
+	 * @param bits    bitset to check
+	 * @param ordinal section ordinal
+	 * @return true if the section's bit is set
+	 */
+	public static boolean isSet(long[] bits, int ordinal) {
+		return (bits[ordinal >>> WORD_SHIFT] & (1L << ordinal)) != 0;
+	}
+
+	/**
+	 * Gets the number of words needed for a bitset with the number of bits
+	 *
+	 * @param bits number of bits
+	 * @return number of words
+	 */
+	private static int words(int bits) {
+		return (bits + WORD_BITS - 1) >>> WORD_SHIFT;
+	}
+
+	/**
+	 * Fork-join task that builds a range of rows, splitting in half until the
+	 * range is small enough to build directly
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	private static class RowTask extends RecursiveAction {
+
+		/** ID used for serialization */
+		private static final long serialVersionUID = 1L;
+		/** Rows being built */
+		private long[][] rows;
+		/** Meeting days mask of each section */
+		private int[] masks;
+		/** Start minute of each section */
+		private int[] starts;
+		/** End minute of each section */
+		private int[] ends;
+		/** First row of the range */
+		private int from;
+		/** Row after the last row of the range */
+		private int to;
+
+		/**
+		 * Constructs a task for a range of rows
+		 *
+		 * @param rows   rows being built
+		 * @param masks  meeting days mask of each section
+		 * @param starts start minute of each section
+		 * @param ends   end minute of each section
+		 * @param from   first row of the range
+		 * @param to     row after the last row of the range
+		 */
+		RowTask(long[][] rows, int[] masks, int[] starts, int[] ends, int from, int to) {
+			this.rows = rows;
+			this.masks = masks;
+			this.starts = starts;
+			this.ends = ends;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= ROWS_PER_TASK) {
+				for (int i = from; i < to; i++) {
+					long[] row = new long[words(masks.length)];
+					for (int j = 0; j < masks.length; j++) {
+						if ((masks[i] & masks[j]) != 0 && starts[i] <= ends[j] && starts[j] <= ends[i]) {
+							row[j >>> WORD_SHIFT] |= 1L << j;
+						}
+					}
+					rows[i] = row;
+				}
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new RowTask(rows, masks, starts, ends, from, mid),
+						new RowTask(rows, masks, starts, ends, mid, to));
+			}
+		}
+	}
+}
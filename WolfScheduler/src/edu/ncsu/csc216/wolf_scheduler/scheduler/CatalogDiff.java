@@ -0,0 +1,131 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Changes between two versions of a catalog, along with the new version. A
+ * section is identified by its course name and section. Sections that are the
+ * same in both versions are the same objects in both catalogs, so anything that
+ * holds on to them stays valid.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogDiff {
+
+	/** Version of the catalog the changes are from */
+	private CourseCatalog previous;
+	/** New version of the catalog */
+	private CourseCatalog catalog;
+	/** Sections only in the new version */
+	private List<Course> added;
+	/** Sections only in the old version */
+	private List<Course> removed;
+	/** New versions of the sections that are in both but differ */
+	private List<Course> changed;
+	/** Keys of the removed and changed sections */
+	private HashSet<String> affected;
+
+	/**
+	 * Constructs a diff
+	 *
+	 * @param previous version of the catalog the changes are from
+	 * @param catalog new version of the catalog
+	 * @param added   sections only in the new version
+	 * @param removed sections only in the old version
+	 * @param changed new versions of the sections that differ
+	 */
+	public CatalogDiff(CourseCatalog previous, CourseCatalog catalog, List<Course> added, List<Course> removed,
+			List<Course> changed) {
+		this.previous = previous;
+		this.catalog = catalog;
+		this.added = Collections.unmodifiableList(added);
+		this.removed = Collections.unmodifiableList(removed);
+		this.changed = Collections.unmodifiableList(changed);
+		this.affected = new HashSet<String>();
+		for (Course course : removed) {
+			affected.add(key(course));
+		}
+		for (Course course : changed) {
+			affected.add(key(course));
+		}
+	}
+
+	/**
+	 * Gets the version of the catalog the changes are from
+	 *
+	 * @return the previous catalog, which is the new one if nothing changed
+	 */
+	public CourseCatalog getPrevious() {
+		return previous;
+	}
+
+	/**
+	 * Gets the new version of the catalog
+	 *
+	 * @return the catalog
+	 */
+	public CourseCatalog getCatalog() {
+		return catalog;
+	}
+
+	/**
+	 * Gets the sections only in the new version
+	 *
+	 * @return unmodifiable list of sections in catalog order
+	 */
+	public List<Course> getAdded() {
+		return added;
+	}
+
+	/**
+	 * Gets the sections only in the old version
+	 *
+	 * @return unmodifiable list of sections in old catalog order
+	 */
+	public List<Course> getRemoved() {
+		return removed;
+	}
+
+	/**
+	 * Gets the new versions of the sections that are in both versions but differ
+	 *
+	 * @return unmodifiable list of sections in catalog order
+	 */
+	public List<Course> getChanged() {
+		return changed;
+	}
+
+	/**
+	 * Checks if the versions are the same
+	 *
+	 * @return true if nothing was added, removed, or changed
+	 */
+	public boolean isEmpty() {
+		return added.isEmpty() && affected.isEmpty();
+	}
+
+	/**
+	 * Checks if a section from the old version was removed or changed
+	 *
+	 * @param course section from the old version
+	 * @return true if the section isn't in the new version as it was
+	 */
+	public boolean affects(Course course) {
+		return affected.contains(key(course));
+	}
+
+	/**
+	 * Gets the key that identifies a section across versions
+	 *
+	 * @param course the section
+	 * @return course name and section
+	 */
+	static String key(Course course) {
+		return course.getName() + "," + course.getSection();
+	}
+}
@@ -0,0 +1,143 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.HashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Hash index from a course name and section to the position of the section in
+ * the catalog. A course name is at most six characters and a section is three
+ * digits, so both fit together in one long: seven bits for each ASCII character
+ * of the name followed by ten bits for the section number. The keys live in an
+ * open-addressing table of primitive arrays, so a lookup doesn't allocate.
+ * Names with characters outside of ASCII can't be packed and are kept in a
+ * HashMap instead.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogIndex {
+
+	/** Key of an empty slot in the table */
+	private static final long EMPTY = -1;
+	/** Number of bits used for the section number */
+	private static final int SECTION_BITS = 10;
+	/** Number of bits used for each character of the name */
+	private static final int CHAR_BITS = 7;
+	/** Largest character that can be packed */
+	private static final char MAX_CHAR = 127;
+	/** Multiplier used to spread keys across the table */
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	/** Packed key in each slot, or EMPTY */
+	private long[] keys;
+	/** Catalog position of the section in each slot */
+	private int[] positions;
+	/** Mask that turns a hash into a slot */
+	private int slotMask;
+	/** Catalog positions of sections whose names can't be packed */
+	private HashMap<String, Integer> unpacked;
+
+	/**
+	 * Builds the index for the catalog. If a name and section appear more than
+	 * once, the first one is indexed.
+	 *
+	 * @param catalog sections to index
+	 */
+	public CatalogIndex(List<Course> catalog) {
+		int capacity = Integer.highestOneBit(Math.max(2, catalog.size()) * 2 - 1) << 1;
+		keys = new long[capacity];
+		positions = new int[capacity];
+		slotMask = capacity - 1;
+		unpacked = new HashMap<String, Integer>();
+		for (int i = 0; i < capacity; i++) {
+			keys[i] = EMPTY;
+		}
+		for (int i = 0; i < catalog.size(); i++) {
+			Course course = catalog.get(i);
+			long key = key(course.getName(), course.getSection());
+			if (key == EMPTY) {
+				String name = course.getName() + "," + course.getSection();
+				if (!unpacked.containsKey(name)) {
+					unpacked.put(name, i);
+				}
+			} else {
+				int slot = slot(key);
+				while (keys[slot] != EMPTY && keys[slot] != key) {
+					slot = (slot + 1) & slotMask;
+				}
+				if (keys[slot] == EMPTY) {
+					keys[slot] = key;
+					positions[slot] = i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the catalog position of a section
+	 *
+	 * @param name    course name
+	 * @param section course section
+	 * @return position of the section in the catalog, or -1 if it isn't there
+	 */
+	public int indexOf(String name, String section) {
+		if (name == null || section == null) {
+			return -1;
+		}
+		long key = key(name, section);
+		if (key == EMPTY) {
+			Integer position = unpacked.get(name + "," + section);
+			return position == null ? -1 : position;
+		}
+		int slot = slot(key);
+		while (keys[slot] != EMPTY) {
+			if (keys[slot] == key) {
+				return positions[slot];
+			}
+			slot = (slot + 1) & slotMask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Packs a name and section into a key
+	 *
+	 * @param name    course name
+	 * @param section course section
+	 * @return the packed key, or EMPTY if the name or section can't be packed
+	 */
+	private static long key(String name, String section) {
+		if (name.length() > Course.SIX || section.length() != Course.THREE) {
+			return EMPTY;
+		}
+		long key = 0;
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c == 0 || c > MAX_CHAR) {
+				return EMPTY;
+			}
+			key = key << CHAR_BITS | c;
+		}
+		int number = 0;
+		for (int i = 0; i < section.length(); i++) {
+			char c = section.charAt(i);
+			if (c < '0' || c > '9') {
+				return EMPTY;
+			}
+			number = number * 10 + c - '0';
+		}
+		return key << SECTION_BITS | number;
+	}
+
+	/**
+	 * Gets the first slot to try for a key
+	 *
+	 * @param key packed key
+	 * @return slot in the table
+	 */
+	private int slot(long key) {
+		return (int) ((key * HASH_MULTIPLIER) >>> (Long.SIZE - Integer.SIZE)) & slotMask;
+	}
+}
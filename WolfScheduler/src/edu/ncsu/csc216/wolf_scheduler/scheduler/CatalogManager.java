@@ -0,0 +1,204 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Catalogs for several terms, each loaded from its own course records file the
+ * first time it is used. At most a fixed number of catalogs are kept loaded;
+ * when another one is needed, the one used least recently is dropped. A dropped
+ * catalog stays valid for the schedulers already using it, and as long as any
+ * of them are still around, asking for its term again gives back that same
+ * catalog, so every scheduler of a term keeps sharing one catalog. Only once
+ * nothing uses it any more is it loaded again.
+ *
+ * Catalogs are loaded outside of the manager's lock, so loading one term's
+ * file doesn't hold up lookups of any other term. Threads that ask for a term
+ * while it is loading wait for that one load instead of starting their own.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogManager {
+
+	/** Largest number of catalogs kept loaded */
+	private int maxResident;
+	/** Course records file of each term */
+	private Map<String, String> files;
+	/** Loaded catalogs, least recently used first */
+	private LinkedHashMap<String, CourseCatalog> resident;
+	/** Catalogs dropped from resident, which may still be in use */
+	private HashMap<String, WeakReference<CourseCatalog>> dropped;
+	/** Loads in progress, by term */
+	private HashMap<String, FutureTask<CourseCatalog>> loading;
+
+	/**
+	 * Constructs a manager with no terms
+	 *
+	 * @param maxResident largest number of catalogs to keep loaded
+	 * @throws IllegalArgumentException if maxResident is less than 1
+	 */
+	public CatalogManager(final int maxResident) {
+		if (maxResident < 1) {
+			throw new IllegalArgumentException("Invalid number of catalogs.");
+		}
+		this.maxResident = maxResident;
+		this.files = new LinkedHashMap<String, String>();
+		this.dropped = new HashMap<String, WeakReference<CourseCatalog>>();
+		this.loading = new HashMap<String, FutureTask<CourseCatalog>>();
+		this.resident = new LinkedHashMap<String, CourseCatalog>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CourseCatalog> eldest) {
+				if (size() <= CatalogManager.this.maxResident) {
+					return false;
+				}
+				Iterator<WeakReference<CourseCatalog>> refs = dropped.values().iterator();
+				while (refs.hasNext()) {
+					if (refs.next().get() == null) {
+						refs.remove();
+					}
+				}
+				dropped.put(eldest.getKey(), new WeakReference<CourseCatalog>(eldest.getValue()));
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Adds a term, or points an existing term at a new file. Nothing is loaded
+	 * until the term is used.
+	 *
+	 * @param termId   id of the term, such as "2024FA"
+	 * @param fileName course records file for the term
+	 * @throws IllegalArgumentException if the term id or file name is null or empty
+	 */
+	public synchronized void addTerm(String termId, String fileName) {
+		if (termId == null || termId.equals("")) {
+			throw new IllegalArgumentException("Invalid term.");
+		}
+		if (fileName == null || fileName.equals("")) {
+			throw new IllegalArgumentException("Invalid file name.");
+		}
+		files.put(termId, fileName);
+		resident.remove(termId);
+		dropped.remove(termId);
+		loading.remove(termId);
+	}
+
+	/**
+	 * Gets the catalog for a term, loading it if it isn't loaded. A dropped
+	 * catalog that is still in use is made resident again instead of loaded.
+	 *
+	 * @param termId id of the term
+	 * @return the catalog
+	 * @throws IllegalArgumentException if the term hasn't been added or its file can't be found
+	 * @throws IllegalStateException if the thread is interrupted while waiting for a load
+	 */
+	public CourseCatalog getCatalog(String termId) {
+		FutureTask<CourseCatalog> task;
+		boolean loader = false;
+		synchronized (this) {
+			CourseCatalog catalog = resident.get(termId);
+			if (catalog == null && dropped.containsKey(termId)) {
+				catalog = dropped.remove(termId).get();
+				if (catalog != null) {
+					resident.put(termId, catalog);
+				}
+			}
+			if (catalog != null) {
+				return catalog;
+			}
+			task = loading.get(termId);
+			if (task == null) {
+				final String fileName = files.get(termId);
+				if (fileName == null) {
+					throw new IllegalArgumentException("Invalid term.");
+				}
+				task = new FutureTask<CourseCatalog>(new Callable<CourseCatalog>() {
+					@Override
+					public CourseCatalog call() {
+						return CourseCatalog.load(fileName);
+					}
+				});
+				loading.put(termId, task);
+				loader = true;
+			}
+		}
+
+		if (loader) {
+			task.run();
+		}
+		CourseCatalog catalog = null;
+		try {
+			catalog = task.get();
+			return catalog;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while loading catalog.");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw (Error) e.getCause();
+		} finally {
+			if (loader) {
+				finishLoad(termId, task, catalog);
+			}
+		}
+	}
+
+	/**
+	 * Removes a finished load and makes its catalog resident, unless the term was
+	 * pointed at a new file while it was loading
+	 *
+	 * @param termId  id of the term
+	 * @param task    the load
+	 * @param catalog the catalog, or null if the load failed
+	 */
+	private synchronized void finishLoad(String termId, FutureTask<CourseCatalog> task, CourseCatalog catalog) {
+		if (loading.get(termId) == task) {
+			loading.remove(termId);
+			if (catalog != null) {
+				resident.put(termId, catalog);
+			}
+		}
+	}
+
+	/**
+	 * Checks if the catalog for a term is loaded
+	 *
+	 * @param termId id of the term
+	 * @return true if the catalog is loaded
+	 */
+	public synchronized boolean isResident(String termId) {
+		return resident.containsKey(termId);
+	}
+
+	/**
+	 * Gets the ids of the terms whose catalogs are loaded
+	 *
+	 * @return term ids, least recently used first
+	 */
+	public synchronized List<String> getResidentTerms() {
+		return new ArrayList<String>(resident.keySet());
+	}
+
+	/**
+	 * Gets the ids of every term
+	 *
+	 * @return term ids in the order they were added
+	 */
+	public synchronized List<String> getTerms() {
+		return new ArrayList<String>(files.keySet());
+	}
+}
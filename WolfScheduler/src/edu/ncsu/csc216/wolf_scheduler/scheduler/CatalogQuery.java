@@ -0,0 +1,279 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Builder for catalog filters. Every condition is compiled into a bitset from
+ * CatalogBitsets and ANDed into the query as soon as it is added, so getting
+ * the results only walks the set bits. Queries over the same catalog can be
+ * combined with or(). For example, the 3 credit sections of CSC2xx courses
+ * that meet on Tuesday and Thursday afternoons and fit the current schedule:
+ *
+ * <pre>
+ * scheduler.queryCatalog().namePrefix("CSC2").meetsOn("TH").between(1200, 1800).credits(3).fitsSchedule().results()
+ * </pre>
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogQuery {
+
+	/** Bitsets of the catalog being queried */
+	private CatalogBitsets bitsets;
+	/** Activities fitsSchedule() checks against */
+	private Collection<? extends Activity> schedule;
+	/** Sections that match every condition so far */
+	private long[] matches;
+
+	/**
+	 * Constructs a query that matches every section of the catalog
+	 *
+	 * @param bitsets  bitsets of the catalog
+	 * @param schedule activities fitsSchedule() checks against
+	 */
+	public CatalogQuery(CatalogBitsets bitsets, Collection<? extends Activity> schedule) {
+		this.bitsets = bitsets;
+		this.schedule = schedule == null ? Collections.<Activity>emptyList() : schedule;
+		this.matches = bitsets.all();
+	}
+
+	/**
+	 * Keeps the sections that meet on every one of the days
+	 *
+	 * @param meetingDays days the sections must meet on, such as "MW"
+	 * @return this query
+	 */
+	public CatalogQuery meetsOn(String meetingDays) {
+		int mask = Activity.toDaysMask(meetingDays);
+		for (int day = Activity.MONDAY; day <= Activity.SUNDAY; day <<= 1) {
+			if ((mask & day) != 0) {
+				CatalogBitsets.and(matches, bitsets.day(day));
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Keeps the timed sections that meet on none of the days outside of the
+	 * given ones
+	 *
+	 * @param meetingDays days the sections may meet on, such as "MWF"
+	 * @return this query
+	 */
+	public CatalogQuery meetsOnlyOn(String meetingDays) {
+		int mask = Activity.toDaysMask(meetingDays);
+		for (int day = Activity.MONDAY; day <= Activity.SUNDAY; day <<= 1) {
+			if ((mask & day) == 0) {
+				CatalogBitsets.andNot(matches, bitsets.day(day));
+			}
+		}
+		CatalogBitsets.andNot(matches, bitsets.arranged());
+		return this;
+	}
+
+	/**
+	 * Keeps the arranged sections
+	 *
+	 * @return this query
+	 */
+	public CatalogQuery arranged() {
+		CatalogBitsets.and(matches, bitsets.arranged());
+		return this;
+	}
+
+	/**
+	 * Keeps the timed sections that start and end within a time window
+	 *
+	 * @param startTime military time the window starts at
+	 * @param endTime   military time the window ends at
+	 * @return this query
+	 * @throws IllegalArgumentException if a time isn't a valid military time
+	 */
+	public CatalogQuery between(int startTime, int endTime) {
+		int from = CatalogAttributeIndex.toMinute(startTime);
+		int to = CatalogAttributeIndex.toMinute(endTime);
+		CatalogBitsets.and(matches, bitsets.startsFrom(from));
+		CatalogBitsets.and(matches, bitsets.endsBy(to));
+		return this;
+	}
+
+	/**
+	 * Keeps the sections worth a number of credits
+	 *
+	 * @param credits number of credits
+	 * @return this query
+	 */
+	public CatalogQuery credits(int credits) {
+		CatalogBitsets.and(matches, bitsets.credits(credits));
+		return this;
+	}
+
+	/**
+	 * Keeps the sections taught by an instructor
+	 *
+	 * @param instructorId id of the instructor
+	 * @return this query
+	 */
+	public CatalogQuery instructor(String instructorId) {
+		CatalogBitsets.and(matches, bitsets.instructor(instructorId));
+		return this;
+	}
+
+	/**
+	 * Keeps the sections whose course names start with the prefix
+	 *
+	 * @param prefix start of a course name
+	 * @return this query
+	 * @throws IllegalArgumentException if the prefix is null
+	 */
+	public CatalogQuery namePrefix(String prefix) {
+		CatalogBitsets.and(matches, bitsets.namePrefix(prefix));
+		return this;
+	}
+
+	/**
+	 * Keeps the sections that don't conflict with any activity in the schedule
+	 *
+	 * @return this query
+	 */
+	public CatalogQuery fitsSchedule() {
+		for (Activity activity : schedule) {
+			CatalogBitsets.andNot(matches, bitsets.conflictsWith(activity));
+		}
+		return this;
+	}
+
+	/**
+	 * Adds the sections matched by another query over the same catalog
+	 *
+	 * @param other query to combine with
+	 * @return this query
+	 * @throws IllegalArgumentException if the other query is over a different catalog
+	 */
+	public CatalogQuery or(CatalogQuery other) {
+		if (other.bitsets != bitsets) {
+			throw new IllegalArgumentException("Invalid query.");
+		}
+		CatalogBitsets.or(matches, other.matches);
+		return this;
+	}
+
+	/**
+	 * Gets the number of sections that match the query
+	 *
+	 * @return number of matches
+	 */
+	public int count() {
+		int count = 0;
+		for (long word : matches) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the matching sections as a read-only view in catalog order. The view
+	 * doesn't copy any sections and isn't changed by conditions added later.
+	 *
+	 * @return the matching sections
+	 */
+	public List<Course> results() {
+		return new ResultView(bitsets, matches.clone());
+	}
+
+	/**
+	 * Read-only list over the set bits of a bitset. Getting a section by index
+	 * uses the count of set bits before each word to find the word holding it.
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	private static class ResultView extends AbstractList<Course> implements RandomAccess {
+
+		/** Bitsets of the catalog the bits are over */
+		private CatalogBitsets bitsets;
+		/** Matching sections */
+		private long[] bits;
+		/** Number of set bits before each word, plus the total at the end */
+		private int[] before;
+
+		/**
+		 * Constructs a view over the bits
+		 *
+		 * @param bitsets bitsets of the catalog
+		 * @param bits    matching sections
+		 */
+		ResultView(CatalogBitsets bitsets, long[] bits) {
+			this.bitsets = bitsets;
+			this.bits = bits;
+			this.before = new int[bits.length + 1];
+			for (int w = 0; w < bits.length; w++) {
+				before[w + 1] = before[w] + Long.bitCount(bits[w]);
+			}
+		}
+
+		@Override
+		public int size() {
+			return before[bits.length];
+		}
+
+		@Override
+		public Course get(int index) {
+			if (index < 0 || index >= size()) {
+				throw new IndexOutOfBoundsException();
+			}
+			int low = 0;
+			int high = bits.length - 1;
+			while (low < high) {
+				int mid = (low + high + 1) >>> 1;
+				if (before[mid] <= index) {
+					low = mid;
+				} else {
+					high = mid - 1;
+				}
+			}
+			long word = bits[low];
+			for (int skip = index - before[low]; skip > 0; skip--) {
+				word &= word - 1;
+			}
+			return bitsets.getSection((low << CatalogBitsets.WORD_SHIFT) + Long.numberOfTrailingZeros(word));
+		}
+
+		@Override
+		public Iterator<Course> iterator() {
+			return new Iterator<Course>() {
+				/** Word being walked */
+				private int w = -1;
+				/** Bits of the word not returned yet */
+				private long word;
+
+				@Override
+				public boolean hasNext() {
+					while (word == 0 && w + 1 < bits.length) {
+						word = bits[++w];
+					}
+					return word != 0;
+				}
+
+				@Override
+				public Course next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					int ordinal = (w << CatalogBitsets.WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+					word &= word - 1;
+					return bitsets.getSection(ordinal);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,351 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Keystroke search over a catalog. Course names are kept in a prefix trie where
+ * every node holds the sorted catalog positions of the sections below it, so
+ * a name prefix is answered by walking at most six nodes. Titles are split into
+ * lower case words, using the root locale so matching doesn't depend on the
+ * platform's language, and kept in an inverted index from each word to the sorted
+ * positions of the sections whose titles contain it. Both are built once and
+ * never scan the catalog during a search.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogSearch {
+
+	/** Sections in catalog order */
+	private List<Course> catalog;
+	/** Root of the course name trie */
+	private TrieNode root;
+	/** Sorted positions of the sections whose titles contain each word */
+	private TreeMap<String, int[]> titleWords;
+
+	/**
+	 * Builds the name trie and title index for the catalog
+	 *
+	 * @param catalog sections to index
+	 */
+	public CatalogSearch(List<Course> catalog) {
+		this.catalog = catalog;
+		root = new TrieNode();
+		HashMap<String, PositionList> words = new HashMap<String, PositionList>();
+		for (int i = 0; i < catalog.size(); i++) {
+			Course course = catalog.get(i);
+			TrieNode node = root;
+			node.positions.add(i);
+			String name = course.getName().toUpperCase(Locale.ROOT);
+			for (int c = 0; c < name.length(); c++) {
+				node = node.child(name.charAt(c), true);
+				node.positions.add(i);
+			}
+			for (String word : tokenize(course.getTitle())) {
+				PositionList list = words.get(word);
+				if (list == null) {
+					list = new PositionList();
+					words.put(word, list);
+				}
+				// A word repeated in one title is only indexed once
+				if (list.size == 0 || list.positions[list.size - 1] != i) {
+					list.add(i);
+				}
+			}
+		}
+		titleWords = new TreeMap<String, int[]>();
+		for (Map.Entry<String, PositionList> entry : words.entrySet()) {
+			titleWords.put(entry.getKey(), entry.getValue().toArray());
+		}
+	}
+
+	/**
+	 * Finds the sections whose course names start with the prefix, ignoring case
+	 *
+	 * @param prefix start of a course name
+	 * @return matching sections in catalog order
+	 */
+	public List<Course> findByNamePrefix(String prefix) {
+		return toCourses(namePositions(prefix));
+	}
+
+	/**
+	 * Finds the sections whose titles contain every word of the query, ignoring
+	 * case. The last word may be a prefix, since it may still be being typed.
+	 *
+	 * @param query words of a title
+	 * @return matching sections in catalog order
+	 */
+	public List<Course> findByTitle(String query) {
+		return toCourses(titlePositions(query));
+	}
+
+	/**
+	 * Finds the sections whose course names start with the query or whose titles
+	 * match the query
+	 *
+	 * @param query start of a course name or words of a title
+	 * @return matching sections in catalog order
+	 */
+	public List<Course> search(String query) {
+		String name = query == null ? "" : query.replace(" ", "");
+		return toCourses(union(namePositions(name), titlePositions(query)));
+	}
+
+	/**
+	 * Gets the positions of the sections whose names start with the prefix
+	 *
+	 * @param prefix start of a course name
+	 * @return sorted positions
+	 */
+	private int[] namePositions(String prefix) {
+		if (prefix == null) {
+			return new int[0];
+		}
+		String key = prefix.trim().toUpperCase(Locale.ROOT);
+		TrieNode node = root;
+		for (int c = 0; c < key.length() && node != null; c++) {
+			node = node.child(key.charAt(c), false);
+		}
+		return node == null ? new int[0] : node.positions.toArray();
+	}
+
+	/**
+	 * Gets the positions of the sections whose titles match every word of the
+	 * query, taking the last word as a prefix
+	 *
+	 * @param query words of a title
+	 * @return sorted positions
+	 */
+	private int[] titlePositions(String query) {
+		List<String> words = tokenize(query);
+		if (words.isEmpty()) {
+			return new int[0];
+		}
+		int[] result = null;
+		for (int w = 0; w < words.size(); w++) {
+			int[] matches;
+			if (w == words.size() - 1) {
+				matches = prefixPositions(words.get(w));
+			} else {
+				matches = titleWords.get(words.get(w));
+			}
+			if (matches == null) {
+				return new int[0];
+			}
+			result = result == null ? matches : intersect(result, matches);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the positions of the sections with a title word that starts with the
+	 * prefix. A short prefix can match many words, so instead of merging their
+	 * lists one at a time, every position is set in one bitset over the catalog
+	 * and the bitset is read back in order, which takes time in the total length
+	 * of the lists plus the size of the catalog.
+	 *
+	 * @param prefix start of a title word
+	 * @return sorted positions
+	 */
+	private int[] prefixPositions(String prefix) {
+		SortedMap<String, int[]> words = titleWords.subMap(prefix, prefix + Character.MAX_VALUE);
+		if (words.size() <= 1) {
+			return words.isEmpty() ? new int[0] : words.values().iterator().next();
+		}
+		long[] bits = new long[(catalog.size() + 63) >>> 6];
+		int count = 0;
+		for (int[] positions : words.values()) {
+			for (int position : positions) {
+				long bit = 1L << position;
+				if ((bits[position >>> 6] & bit) == 0) {
+					bits[position >>> 6] |= bit;
+					count++;
+				}
+			}
+		}
+		int[] result = new int[count];
+		int next = 0;
+		for (int w = 0; w < bits.length; w++) {
+			long word = bits[w];
+			while (word != 0) {
+				result[next++] = (w << 6) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Splits text into lower case words of letters and digits
+	 *
+	 * @param text text to split
+	 * @return words in the order they appear
+	 */
+	private static List<String> tokenize(String text) {
+		List<String> words = new ArrayList<String>();
+		if (text == null) {
+			return words;
+		}
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (inWord && start < 0) {
+				start = i;
+			} else if (!inWord && start >= 0) {
+				words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Gets the sections at sorted positions
+	 *
+	 * @param positions sorted catalog positions
+	 * @return sections in catalog order
+	 */
+	private List<Course> toCourses(int[] positions) {
+		List<Course> courses = new ArrayList<Course>(positions.length);
+		for (int position : positions) {
+			courses.add(catalog.get(position));
+		}
+		return courses;
+	}
+
+	/**
+	 * Gets the positions in both sorted lists
+	 *
+	 * @param a sorted positions
+	 * @param b sorted positions
+	 * @return sorted positions in both lists
+	 */
+	private static int[] intersect(int[] a, int[] b) {
+		int[] result = new int[Math.min(a.length, b.length)];
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				result[count++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Gets the positions in either sorted list
+	 *
+	 * @param a sorted positions
+	 * @param b sorted positions
+	 * @return sorted positions in either list, without repeats
+	 */
+	private static int[] union(int[] a, int[] b) {
+		int[] result = new int[a.length + b.length];
+		int count = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length || j < b.length) {
+			if (j == b.length || (i < a.length && a[i] < b[j])) {
+				result[count++] = a[i++];
+			} else if (i == a.length || b[j] < a[i]) {
+				result[count++] = b[j++];
+			} else {
+				result[count++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Node of the course name trie
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	private static class TrieNode {
+
+		/** Character on the edge to each child */
+		private char[] labels = new char[0];
+		/** Child for each label */
+		private TrieNode[] children = new TrieNode[0];
+		/** Positions of the sections whose names pass through this node */
+		private PositionList positions = new PositionList();
+
+		/**
+		 * Gets the child on the edge labeled with the character
+		 *
+		 * @param c      edge label
+		 * @param create whether to add the child if it is missing
+		 * @return the child, or null if it is missing and create is false
+		 */
+		TrieNode child(char c, boolean create) {
+			for (int i = 0; i < labels.length; i++) {
+				if (labels[i] == c) {
+					return children[i];
+				}
+			}
+			if (!create) {
+				return null;
+			}
+			labels = Arrays.copyOf(labels, labels.length + 1);
+			children = Arrays.copyOf(children, children.length + 1);
+			labels[labels.length - 1] = c;
+			children[children.length - 1] = new TrieNode();
+			return children[children.length - 1];
+		}
+	}
+
+	/**
+	 * Growable list of catalog positions
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	private static class PositionList {
+
+		/** Positions in the order they were added */
+		private int[] positions = new int[1];
+		/** Number of positions in the list */
+		private int size;
+
+		/**
+		 * Adds a position to the end of the list
+		 *
+		 * @param position catalog position
+		 */
+		void add(int position) {
+			if (size == positions.length) {
+				positions = Arrays.copyOf(positions, size * 2);
+			}
+			positions[size++] = position;
+		}
+
+		/**
+		 * Gets the positions as an array
+		 *
+		 * @return copy of the positions
+		 */
+		int[] toArray() {
+			return Arrays.copyOf(positions, size);
+		}
+	}
+}
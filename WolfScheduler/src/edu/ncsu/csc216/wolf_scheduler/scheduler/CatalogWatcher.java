@@ -0,0 +1,301 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Keeps a catalog up to date with its course records file. When the file is
+ * republished, only lines that weren't in the last version are parsed; lines
+ * that are unchanged reuse the Course built for them before. The result is a
+ * CatalogDiff with the new catalog and the sections that were added, removed,
+ * or changed, which schedulers apply with WolfScheduler.updateCatalog().
+ *
+ * start() watches the file's directory with a WatchService on a daemon thread
+ * and calls a listener whenever the catalog changes. The listener runs on
+ * the watcher thread, so a GUI should hand the diff to its event thread. An
+ * exception from the listener is passed to the thread's uncaught exception
+ * handler and the watcher keeps going.
+ *
+ * A file that is read part way through being written looks like a catalog
+ * with every section after the cut removed, and applying that would drop those
+ * sections from schedules for good. So after the file changes, the watcher
+ * waits until it has gone a quiet period with no more changes to its size or
+ * modified time before reloading it. That covers a writer that rewrites the
+ * file in place without long pauses; a writer that can pause should write a
+ * temporary file in the same directory and rename it over the file instead,
+ * which the watcher sees as one change.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogWatcher implements Closeable {
+
+	/** Default time, in milliseconds, the file must go without changes before it is reloaded */
+	public static final long QUIET_MILLIS = 500;
+
+	/** Course records file being watched */
+	private Path file;
+	/** Current version of the catalog */
+	private CourseCatalog catalog;
+	/** Course read from each line of the current file, or null for invalid lines */
+	private HashMap<String, Course> lines;
+	/** Watch service for the file's directory, or null if not started */
+	private WatchService watchService;
+	/** Thread waiting for changes, or null if not started */
+	private Thread thread;
+
+	/**
+	 * Listener for catalog changes
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	public interface Listener {
+
+		/**
+		 * Called after the file changes and the catalog is reloaded
+		 *
+		 * @param diff changes to the catalog
+		 */
+		void catalogChanged(CatalogDiff diff);
+	}
+
+	/**
+	 * Loads the catalog from a course records file
+	 *
+	 * @param fileName name of the file
+	 * @throws IllegalArgumentException if the file can't be found
+	 */
+	public CatalogWatcher(String fileName) {
+		file = Paths.get(fileName).toAbsolutePath();
+		lines = new HashMap<String, Course>();
+		catalog = new CourseCatalog(new ArrayList<Course>());
+		try {
+			reload();
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+	}
+
+	/**
+	 * Gets the current version of the catalog
+	 *
+	 * @return the catalog
+	 */
+	public synchronized CourseCatalog getCatalog() {
+		return catalog;
+	}
+
+	/**
+	 * Reads the file again and works out what changed. Invalid lines and repeated
+	 * names and sections are skipped, the same as CourseRecordIO.readCourseRecords().
+	 * If the file can't be read to the end, nothing changes.
+	 *
+	 * @return changes since the last load
+	 * @throws IOException if the file can't be found or read
+	 */
+	public synchronized CatalogDiff reload() throws IOException {
+		HashMap<String, Course> newLines = new HashMap<String, Course>();
+		List<Course> read = CourseRecordIO.readCourseLines(file.toString(), lines, newLines);
+
+		HashMap<String, Course> oldByKey = new HashMap<String, Course>();
+		for (Course course : catalog.getCourses()) {
+			if (!oldByKey.containsKey(CatalogDiff.key(course))) {
+				oldByKey.put(CatalogDiff.key(course), course);
+			}
+		}
+
+		HashMap<String, Course> newByKey = new HashMap<String, Course>();
+		List<Course> courses = new ArrayList<Course>();
+		List<Course> added = new ArrayList<Course>();
+		List<Course> changed = new ArrayList<Course>();
+		for (Course course : read) {
+			if (course == null || newByKey.containsKey(CatalogDiff.key(course))) {
+				continue;
+			}
+			Course old = oldByKey.get(CatalogDiff.key(course));
+			if (old == null) {
+				added.add(course);
+			} else if (old.equals(course)) {
+				// Keep the old object so schedules holding it stay valid
+				course = old;
+			} else {
+				changed.add(course);
+			}
+			newByKey.put(CatalogDiff.key(course), course);
+			courses.add(course);
+		}
+
+		List<Course> removed = new ArrayList<Course>();
+		for (Course course : catalog.getCourses()) {
+			if (!newByKey.containsKey(CatalogDiff.key(course))) {
+				removed.add(course);
+			}
+		}
+		lines = newLines;
+		CourseCatalog previous = catalog;
+		if (!courses.equals(catalog.getCourses())) {
+			catalog = new CourseCatalog(courses);
+		}
+		return new CatalogDiff(previous, catalog, added, removed, changed);
+	}
+
+	/**
+	 * Starts watching the file on a daemon thread, reloading it once it has gone
+	 * QUIET_MILLIS without changing
+	 *
+	 * @param listener called with each change to the catalog
+	 * @throws IOException if the directory can't be watched
+	 * @throws IllegalStateException if the watcher is already started
+	 */
+	public void start(Listener listener) throws IOException {
+		start(listener, QUIET_MILLIS);
+	}
+
+	/**
+	 * Starts watching the file on a daemon thread
+	 *
+	 * @param listener called with each change to the catalog
+	 * @param quietMillis time, in milliseconds, the file must go without changes
+	 *                    before it is reloaded
+	 * @throws IOException if the directory can't be watched
+	 * @throws IllegalStateException if the watcher is already started
+	 * @throws IllegalArgumentException if quietMillis is negative
+	 */
+	public synchronized void start(final Listener listener, final long quietMillis) throws IOException {
+		if (quietMillis < 0) {
+			throw new IllegalArgumentException("Invalid quiet period.");
+		}
+		if (watchService != null) {
+			throw new IllegalStateException("Watcher already started.");
+		}
+		final WatchService service = file.getFileSystem().newWatchService();
+		file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		watchService = service;
+		thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					while (true) {
+						if (touched(service.take())) {
+							waitUntilQuiet(service, quietMillis);
+							try {
+								notifyListener(listener);
+							} catch (RuntimeException e) {
+								Thread current = Thread.currentThread();
+								current.getUncaughtExceptionHandler().uncaughtException(current, e);
+							}
+						}
+					}
+				} catch (InterruptedException e) {
+					// closed
+				} catch (ClosedWatchServiceException e) {
+					// closed
+				}
+			}
+		}, "catalog-watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Checks if any of a key's events are for the file, and resets the key
+	 *
+	 * @param key key with events for the directory
+	 * @return true if the file was created or modified
+	 */
+	private boolean touched(WatchKey key) {
+		boolean touched = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			touched |= file.getFileName().equals(event.context());
+		}
+		key.reset();
+		return touched;
+	}
+
+	/**
+	 * Waits until the file goes a quiet period with no change events and the same
+	 * size and modified time at the start and end of it
+	 *
+	 * @param service watch service for the file's directory
+	 * @param quietMillis length of the quiet period in milliseconds
+	 * @throws InterruptedException if the watcher is closed while waiting
+	 */
+	private void waitUntilQuiet(WatchService service, long quietMillis) throws InterruptedException {
+		long[] before = stat();
+		while (true) {
+			WatchKey key = service.poll(quietMillis, TimeUnit.MILLISECONDS);
+			boolean touched = key != null && touched(key);
+			long[] after = stat();
+			if (!touched && before[0] == after[0] && before[1] == after[1]) {
+				return;
+			}
+			before = after;
+		}
+	}
+
+	/**
+	 * Gets the size and modified time of the file
+	 *
+	 * @return size in bytes and modified time in milliseconds, or -1 for both if
+	 *         the file can't be read
+	 */
+	private long[] stat() {
+		try {
+			return new long[] {Files.size(file), Files.getLastModifiedTime(file).toMillis()};
+		} catch (IOException e) {
+			return new long[] {-1, -1};
+		}
+	}
+
+	/**
+	 * Reloads the catalog and passes the changes to the listener if the catalog
+	 * changed, even if only the order of its sections did
+	 *
+	 * @param listener listener to call
+	 */
+	private void notifyListener(Listener listener) {
+		CourseCatalog before = getCatalog();
+		CatalogDiff diff;
+		try {
+			diff = reload();
+		} catch (IOException e) {
+			// The file is being replaced or can't be read, so keep the current
+			// catalog and wait for the next change
+			return;
+		}
+		if (diff.getCatalog() != before) {
+			listener.catalogChanged(diff);
+		}
+	}
+
+	/**
+	 * Stops watching the file
+	 *
+	 * @throws IOException if the watch service can't be closed
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (watchService != null) {
+			watchService.close();
+			thread.interrupt();
+			watchService = null;
+			thread = null;
+		}
+	}
+}
@@ -0,0 +1,469 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictSweep;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Catalog stored column by column instead of as one Course per section. Credits
+ * and start and end minutes are int columns, meeting days are a byte column of
+ * day bitmasks, the section number is a short column, and the name, title and
+ * instructor are int codes into dictionaries of the distinct values. A section
+ * takes about 27 bytes, and filters, conflict sweeps and totals run over the
+ * primitive columns without touching any objects.
+ *
+ * A row can still be turned back into a Course with getCourse(). Meeting days
+ * that aren't in the standard MTWHFSU order, such as "MTTHS", are rare, so they
+ * are kept in a small map by row instead of in a column.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public final class ColumnarCatalog {
+
+	/** Value that matches any start time or number of credits */
+	public static final int ANY = CatalogAttributeIndex.ANY;
+	/** Number of rows allocated before the first one is added */
+	private static final int INITIAL_CAPACITY = 16;
+	/** Number of meeting days in a week */
+	private static final int DAYS = 7;
+
+	/** Number of rows */
+	private int size;
+	/** Dictionary code of each row's course name */
+	private int[] nameCodes;
+	/** Dictionary code of each row's title */
+	private int[] titleCodes;
+	/** Dictionary code of each row's instructor id */
+	private int[] instructorCodes;
+	/** Section number of each row */
+	private short[] sections;
+	/** Credits of each row */
+	private int[] credits;
+	/** Meeting days bitmask of each row, 0 for arranged */
+	private byte[] dayMasks;
+	/** Start minute of each row */
+	private int[] startMinutes;
+	/** End minute of each row */
+	private int[] endMinutes;
+	/** Meeting days of the rows whose days aren't in the standard order */
+	private HashMap<Integer, String> unusualDays;
+	/** Course names by code */
+	private Dictionary names;
+	/** Titles by code */
+	private Dictionary titles;
+	/** Instructor ids by code */
+	private Dictionary instructors;
+
+	/**
+	 * Constructs a columnar catalog of the sections
+	 *
+	 * @param courses sections in catalog order
+	 */
+	public ColumnarCatalog(List<Course> courses) {
+		this(courses.size());
+		for (int i = 0; i < courses.size(); i++) {
+			append(courses.get(i));
+		}
+		trim();
+	}
+
+	/**
+	 * Constructs an empty catalog with room for a number of rows
+	 *
+	 * @param capacity number of rows to allocate
+	 */
+	private ColumnarCatalog(int capacity) {
+		capacity = Math.max(capacity, INITIAL_CAPACITY);
+		nameCodes = new int[capacity];
+		titleCodes = new int[capacity];
+		instructorCodes = new int[capacity];
+		sections = new short[capacity];
+		credits = new int[capacity];
+		dayMasks = new byte[capacity];
+		startMinutes = new int[capacity];
+		endMinutes = new int[capacity];
+		unusualDays = new HashMap<Integer, String>();
+		names = new Dictionary();
+		titles = new Dictionary();
+		instructors = new Dictionary();
+	}
+
+	/**
+	 * Loads a catalog from a file of course records straight into columns. Each
+	 * line is checked by building a Course for it, but the Course isn't kept.
+	 * Invalid lines and repeated names and sections are skipped, the same as
+	 * CourseRecordIO.readCourseRecords().
+	 *
+	 * @param fileName name of the file
+	 * @return the catalog
+	 * @throws IllegalArgumentException if the file can't be found or read
+	 */
+	public static ColumnarCatalog load(String fileName) {
+		Stream<Course> courses;
+		try {
+			courses = CourseRecordIO.streamCourseRecords(fileName);
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+		ColumnarCatalog catalog = new ColumnarCatalog(INITIAL_CAPACITY);
+		HashSet<String> seen = new HashSet<String>();
+		try {
+			Iterator<Course> it = courses.iterator();
+			while (it.hasNext()) {
+				Course course = it.next();
+				if (seen.add(course.getName() + "," + course.getSection())) {
+					catalog.append(course);
+				}
+			}
+		} catch (UncheckedIOException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		} finally {
+			courses.close();
+		}
+		catalog.trim();
+		return catalog;
+	}
+
+	/**
+	 * Gets the number of sections in the catalog
+	 *
+	 * @return number of sections
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the course name of a row
+	 *
+	 * @param row row of the section
+	 * @return course name
+	 */
+	public String getName(int row) {
+		return names.get(nameCodes[checkRow(row)]);
+	}
+
+	/**
+	 * Gets the title of a row
+	 *
+	 * @param row row of the section
+	 * @return title
+	 */
+	public String getTitle(int row) {
+		return titles.get(titleCodes[checkRow(row)]);
+	}
+
+	/**
+	 * Gets the section of a row
+	 *
+	 * @param row row of the section
+	 * @return three digit section
+	 */
+	public String getSection(int row) {
+		int section = sections[checkRow(row)];
+		return new String(new char[] {(char) ('0' + section / 100), (char) ('0' + section / 10 % 10),
+			(char) ('0' + section % 10)});
+	}
+
+	/**
+	 * Gets the credits of a row
+	 *
+	 * @param row row of the section
+	 * @return number of credits
+	 */
+	public int getCredits(int row) {
+		return credits[checkRow(row)];
+	}
+
+	/**
+	 * Gets the instructor id of a row
+	 *
+	 * @param row row of the section
+	 * @return instructor id
+	 */
+	public String getInstructorId(int row) {
+		return instructors.get(instructorCodes[checkRow(row)]);
+	}
+
+	/**
+	 * Gets the meeting days of a row, as they were given
+	 *
+	 * @param row row of the section
+	 * @return meeting days
+	 */
+	public String getMeetingDays(int row) {
+		String days = unusualDays.get(checkRow(row));
+		return days == null ? Activity.toMeetingDays(dayMasks[row]) : days;
+	}
+
+	/**
+	 * Gets the meeting days bitmask of a row
+	 *
+	 * @param row row of the section
+	 * @return meeting days bitmask, 0 for arranged
+	 */
+	public int getMeetingDaysMask(int row) {
+		return dayMasks[checkRow(row)];
+	}
+
+	/**
+	 * Gets the start minute of a row
+	 *
+	 * @param row row of the section
+	 * @return minutes since midnight
+	 */
+	public int getStartMinute(int row) {
+		return startMinutes[checkRow(row)];
+	}
+
+	/**
+	 * Gets the end minute of a row
+	 *
+	 * @param row row of the section
+	 * @return minutes since midnight
+	 */
+	public int getEndMinute(int row) {
+		return endMinutes[checkRow(row)];
+	}
+
+	/**
+	 * Builds a Course for a row
+	 *
+	 * @param row row of the section
+	 * @return new Course equal to the one the row was built from
+	 */
+	public Course getCourse(int row) {
+		String days = getMeetingDays(row);
+		if (dayMasks[row] == 0) {
+			return new Course(getName(row), getTitle(row), getSection(row), credits[row], getInstructorId(row), days);
+		}
+		return new Course(getName(row), getTitle(row), getSection(row), credits[row], getInstructorId(row), days,
+				toTime(startMinutes[row]), toTime(endMinutes[row]));
+	}
+
+	/**
+	 * Finds the rows that match every given value with one pass over the
+	 * columns. Pass null or ANY to match any value. Meeting days of "A" match
+	 * only the arranged sections. Arranged sections have no start time, so they
+	 * never match a start time range.
+	 *
+	 * @param instructorId id of the instructor, or null
+	 * @param meetingDays  days the section must meet on, such as "TH", or null
+	 * @param startFrom    earliest military start time, or ANY
+	 * @param startTo      latest military start time, or ANY
+	 * @param creditHours  number of credits, or ANY
+	 * @return matching rows in catalog order
+	 * @throws IllegalArgumentException if a start time isn't a valid military time
+	 *                                  or the meeting days have no days and
+	 *                                  aren't "A"
+	 */
+	public int[] filter(String instructorId, String meetingDays, int startFrom, int startTo, int creditHours) {
+		int instructor = instructorId == null ? ANY : instructors.codeOf(instructorId);
+		if (instructorId != null && instructor < 0) {
+			return new int[0];
+		}
+		int mask = meetingDays == null ? 0 : CatalogAttributeIndex.toDaysMask(meetingDays);
+		boolean arranged = meetingDays != null && mask == 0;
+		boolean timed = startFrom != ANY || startTo != ANY;
+		int from = startFrom == ANY ? 0 : CatalogAttributeIndex.toMinute(startFrom);
+		int to = startTo == ANY ? Integer.MAX_VALUE : CatalogAttributeIndex.toMinute(startTo);
+		int[] rows = new int[size];
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if ((instructor == ANY || instructorCodes[i] == instructor) && (dayMasks[i] & mask) == mask
+					&& (!arranged || dayMasks[i] == 0)
+					&& (creditHours == ANY || credits[i] == creditHours)
+					&& (!timed || (dayMasks[i] != 0 && startMinutes[i] >= from && startMinutes[i] <= to))) {
+				rows[count++] = i;
+			}
+		}
+		return Arrays.copyOf(rows, count);
+	}
+
+	/**
+	 * Finds every pair of conflicting sections with a sweep over the day, start
+	 * and end columns
+	 *
+	 * @return conflicting pairs packed as described in ConflictSweep, lower row first
+	 */
+	public long[] findConflicts() {
+		return ConflictSweep.findConflicts(dayMasks, startMinutes, endMinutes);
+	}
+
+	/**
+	 * Adds up the credits of every section
+	 *
+	 * @return total credits
+	 */
+	public long getTotalCredits() {
+		long total = 0;
+		for (int i = 0; i < size; i++) {
+			total += credits[i];
+		}
+		return total;
+	}
+
+	/**
+	 * Counts the sections that meet on each day
+	 *
+	 * @return number of sections for each day, Monday first
+	 */
+	public int[] getSectionsPerDay() {
+		int[] counts = new int[DAYS];
+		for (int i = 0; i < size; i++) {
+			int mask = dayMasks[i];
+			while (mask != 0) {
+				counts[Integer.numberOfTrailingZeros(mask)]++;
+				mask &= mask - 1;
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Adds a section to the end of the columns, growing them if they are full
+	 *
+	 * @param course section to add
+	 */
+	private void append(Course course) {
+		if (size == nameCodes.length) {
+			resize(size * 2);
+		}
+		nameCodes[size] = names.add(course.getName());
+		titleCodes[size] = titles.add(course.getTitle());
+		instructorCodes[size] = instructors.add(course.getInstructorId());
+		sections[size] = Short.parseShort(course.getSection());
+		credits[size] = course.getCredits();
+		dayMasks[size] = (byte) course.getMeetingDaysMask();
+		startMinutes[size] = course.getStartMinute();
+		endMinutes[size] = course.getEndMinute();
+		if (!Activity.toMeetingDays(course.getMeetingDaysMask()).equals(course.getMeetingDays())) {
+			unusualDays.put(size, course.getMeetingDays());
+		}
+		size++;
+	}
+
+	/**
+	 * Shrinks the columns to the number of rows once every row is added
+	 */
+	private void trim() {
+		resize(size);
+		names.trim();
+		titles.trim();
+		instructors.trim();
+	}
+
+	/**
+	 * Copies every column into arrays of a new length
+	 *
+	 * @param capacity new number of rows
+	 */
+	private void resize(int capacity) {
+		nameCodes = Arrays.copyOf(nameCodes, capacity);
+		titleCodes = Arrays.copyOf(titleCodes, capacity);
+		instructorCodes = Arrays.copyOf(instructorCodes, capacity);
+		sections = Arrays.copyOf(sections, capacity);
+		credits = Arrays.copyOf(credits, capacity);
+		dayMasks = Arrays.copyOf(dayMasks, capacity);
+		startMinutes = Arrays.copyOf(startMinutes, capacity);
+		endMinutes = Arrays.copyOf(endMinutes, capacity);
+	}
+
+	/**
+	 * Checks that a row is in the catalog
+	 *
+	 * @param row row to check
+	 * @return the row
+	 * @throws IndexOutOfBoundsException if the row isn't in the catalog
+	 */
+	private int checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Invalid row.");
+		}
+		return row;
+	}
+
+	/**
+	 * Converts minutes since midnight to a military time
+	 *
+	 * @param minute minutes since midnight
+	 * @return military time
+	 */
+	private static int toTime(int minute) {
+		return minute / Activity.MINUTES_PER_HOUR * Activity.HUNNA + minute % Activity.MINUTES_PER_HOUR;
+	}
+
+	/**
+	 * Dictionary of distinct strings, each with an int code in the order it was
+	 * first added
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	private static class Dictionary {
+
+		/** Strings by code */
+		private List<String> values = new ArrayList<String>();
+		/** Code of each string */
+		private HashMap<String, Integer> codes = new HashMap<String, Integer>();
+		/** Strings by code once the catalog is built */
+		private String[] table;
+
+		/**
+		 * Gets the code of a string, adding it if it is new
+		 *
+		 * @param value string to add
+		 * @return code of the string
+		 */
+		int add(String value) {
+			Integer code = codes.get(value);
+			if (code == null) {
+				code = values.size();
+				values.add(value);
+				codes.put(value, code);
+			}
+			return code;
+		}
+
+		/**
+		 * Gets the code of a string
+		 *
+		 * @param value string to look up
+		 * @return code of the string, or -1 if it isn't in the dictionary
+		 */
+		int codeOf(String value) {
+			Integer code = codes.get(value);
+			return code == null ? -1 : code;
+		}
+
+		/**
+		 * Gets the string with a code
+		 *
+		 * @param code code of the string
+		 * @return the string
+		 */
+		String get(int code) {
+			return table == null ? values.get(code) : table[code];
+		}
+
+		/**
+		 * Moves the strings into an array once no more will be added
+		 */
+		void trim() {
+			table = values.toArray(new String[values.size()]);
+			values = null;
+		}
+	}
+}
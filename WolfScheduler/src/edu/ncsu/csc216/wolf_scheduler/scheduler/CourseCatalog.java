@@ -0,0 +1,219 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.MappedCatalog;
+
+/**
+ * Immutable course catalog that is loaded once and shared by reference between
+ * any number of WolfScheduler instances, so each session only holds its own
+ * schedule. The list of sections can't be changed after construction and the
+ * sections themselves must not be changed while the catalog is shared.
+ *
+ * A catalog can also be backed by a memory-mapped catalog file with map(). Then
+ * sections are only built when they are read, and sections are found with the
+ * file's own sorted order instead of an index on the heap.
+ *
+ * The name and section index is built with the catalog. The search, attribute
+ * and conflict indexes are built the first time any session asks for them and
+ * are then shared too. Every method is safe to call from many threads.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public final class CourseCatalog {
+
+	/** Sections in file order */
+	private final List<Course> courses;
+	/** Index of the sections by course name and section, or null if the catalog is mapped */
+	private final CatalogIndex index;
+	/** Mapped catalog file the sections are read from, or null if they are on the heap */
+	private final MappedCatalog mapped;
+	/** Indexes by instructor, day, start hour and credits */
+	private volatile CatalogAttributeIndex attributeIndex;
+	/** Name trie and title index */
+	private volatile CatalogSearch search;
+	/** Attribute bitsets used by catalog queries */
+	private volatile CatalogBitsets bitsets;
+	/** Section-by-section conflict matrix */
+	private volatile CatalogConflictMatrix conflictMatrix;
+
+	/**
+	 * Constructs a catalog of the sections. The list is copied, so later changes
+	 * to it don't change the catalog.
+	 *
+	 * @param courses sections in catalog order
+	 * @throws IllegalArgumentException if the list is null
+	 */
+	public CourseCatalog(List<Course> courses) {
+		if (courses == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		this.courses = Collections.unmodifiableList(new ArrayList<Course>(courses));
+		this.index = new CatalogIndex(this.courses);
+		this.mapped = null;
+	}
+
+	/**
+	 * Constructs a catalog backed by a mapped catalog file
+	 *
+	 * @param mapped mapped catalog file
+	 */
+	private CourseCatalog(MappedCatalog mapped) {
+		this.courses = Collections.unmodifiableList(mapped);
+		this.index = null;
+		this.mapped = mapped;
+	}
+
+	/**
+	 * Loads a catalog from a file of course records, or maps it if the file is a
+	 * catalog file written by MappedCatalog.write() or MappedCatalog.convert()
+	 *
+	 * @param fileName name of the file
+	 * @return the catalog
+	 * @throws IllegalArgumentException if the file can't be found, or is a
+	 *                                  catalog file that is damaged
+	 */
+	public static CourseCatalog load(String fileName) {
+		try {
+			if (MappedCatalog.isCatalogFile(fileName)) {
+				return map(fileName);
+			}
+			return new CourseCatalog(CourseRecordIO.readCourseRecords(fileName));
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+	}
+
+	/**
+	 * Maps a catalog file written by MappedCatalog.write(). Nothing is read until
+	 * it is needed, so this returns right away however large the catalog is. A
+	 * damaged section is only found when it is read, and throws an
+	 * UncheckedIOException; MappedCatalog.verify() checks a snapshot up front.
+	 *
+	 * @param fileName name of the file
+	 * @return the catalog
+	 * @throws IllegalArgumentException if the file can't be found or isn't a catalog file
+	 */
+	public static CourseCatalog map(String fileName) {
+		try {
+			return new CourseCatalog(MappedCatalog.open(fileName));
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Invalid catalog file.");
+		}
+	}
+
+	/**
+	 * Gets the number of sections in the catalog
+	 *
+	 * @return number of sections
+	 */
+	public int size() {
+		return courses.size();
+	}
+
+	/**
+	 * Gets the sections in catalog order
+	 *
+	 * @return unmodifiable list of the sections
+	 */
+	public List<Course> getCourses() {
+		return courses;
+	}
+
+	/**
+	 * Gets a section by course name and section
+	 *
+	 * @param name    course name
+	 * @param section course section
+	 * @return the section, or null if it isn't in the catalog
+	 */
+	public Course getCourse(String name, String section) {
+		int position = mapped == null ? index.indexOf(name, section) : mapped.indexOf(name, section);
+		return position < 0 ? null : courses.get(position);
+	}
+
+	/**
+	 * Gets the indexes by instructor, day, start hour and credits
+	 *
+	 * @return the attribute index
+	 */
+	public CatalogAttributeIndex getAttributeIndex() {
+		CatalogAttributeIndex result = attributeIndex;
+		if (result == null) {
+			synchronized (this) {
+				result = attributeIndex;
+				if (result == null) {
+					result = new CatalogAttributeIndex(courses);
+					attributeIndex = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the name trie and title index
+	 *
+	 * @return the catalog search
+	 */
+	public CatalogSearch getSearch() {
+		CatalogSearch result = search;
+		if (result == null) {
+			synchronized (this) {
+				result = search;
+				if (result == null) {
+					result = new CatalogSearch(courses);
+					search = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the attribute bitsets used by catalog queries
+	 *
+	 * @return the catalog bitsets
+	 */
+	public CatalogBitsets getBitsets() {
+		CatalogBitsets result = bitsets;
+		if (result == null) {
+			synchronized (this) {
+				result = bitsets;
+				if (result == null) {
+					result = new CatalogBitsets(courses);
+					bitsets = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the section-by-section conflict matrix
+	 *
+	 * @return the conflict matrix
+	 */
+	public CatalogConflictMatrix getConflictMatrix() {
+		CatalogConflictMatrix result = conflictMatrix;
+		if (result == null) {
+			synchronized (this) {
+				result = conflictMatrix;
+				if (result == null) {
+					result = new CatalogConflictMatrix(courses);
+					conflictMatrix = result;
+				}
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,148 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Cost function used to rank conflict-free schedules, where a lower cost is a
+ * better schedule. The cost adds up weighted penalties for the minutes of gaps
+ * between activities on the same day, the minutes each meeting starts before
+ * the early start time, the number of days with a meeting, and meeting on
+ * Friday at all.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class ScheduleCost {
+
+	/** Penalty for each minute of gap between activities on a day */
+	private int gapWeight;
+	/** Penalty for each minute a meeting starts before the early start time */
+	private int earlyWeight;
+	/** Military time that meetings should not start before */
+	private int earlyStart;
+	/** Penalty for each day with a meeting */
+	private int dayWeight;
+	/** Penalty for meeting on Friday */
+	private int fridayWeight;
+	/** Early start time in minutes since midnight */
+	private int earlyStartMinute;
+
+	/**
+	 * Constructs a cost function with a weight for each penalty
+	 *
+	 * @param gapWeight    penalty for each minute of gap between activities on a day
+	 * @param earlyWeight  penalty for each minute a meeting starts before earlyStart
+	 * @param earlyStart   military time that meetings should not start before
+	 * @param dayWeight    penalty for each day with a meeting
+	 * @param fridayWeight penalty for meeting on Friday
+	 * @throws IllegalArgumentException if a weight is negative or earlyStart isn't
+	 *                                  a valid military time
+	 */
+	public ScheduleCost(int gapWeight, int earlyWeight, int earlyStart, int dayWeight, int fridayWeight) {
+		if (gapWeight < 0 || earlyWeight < 0 || dayWeight < 0 || fridayWeight < 0) {
+			throw new IllegalArgumentException("Invalid weight.");
+		}
+		if (earlyStart < 0 || earlyStart > Activity.UPPER_TIME || earlyStart % Activity.HUNNA > Activity.UPPER_HOUR) {
+			throw new IllegalArgumentException("Invalid early start time.");
+		}
+		this.gapWeight = gapWeight;
+		this.earlyWeight = earlyWeight;
+		this.earlyStart = earlyStart;
+		this.dayWeight = dayWeight;
+		this.fridayWeight = fridayWeight;
+		this.earlyStartMinute = earlyStart / Activity.HUNNA * Activity.MINUTES_PER_HOUR + earlyStart % Activity.HUNNA;
+	}
+
+	/**
+	 * Gets the military time that meetings should not start before
+	 *
+	 * @return the early start time
+	 */
+	public int getEarlyStart() {
+		return earlyStart;
+	}
+
+	/**
+	 * Gets the penalty for an activity starting early, counted once for each day
+	 * it meets. Adding an activity to a schedule always adds this penalty.
+	 *
+	 * @param activity activity to check
+	 * @return the early start penalty
+	 */
+	public long getEarlyPenalty(Activity activity) {
+		int minutesEarly = earlyStartMinute - activity.getStartMinute();
+		if (minutesEarly <= 0) {
+			return 0;
+		}
+		return (long) earlyWeight * minutesEarly * Integer.bitCount(activity.getMeetingDaysMask());
+	}
+
+	/**
+	 * Gets the penalty for the days a schedule meets on. Adding an activity to a
+	 * schedule never lowers this penalty.
+	 *
+	 * @param daysMask meeting days bitmask of every activity in the schedule
+	 * @return the penalty for the days
+	 */
+	public long getDaysPenalty(int daysMask) {
+		long penalty = (long) dayWeight * Integer.bitCount(daysMask);
+		if ((daysMask & Activity.FRIDAY) != 0) {
+			penalty += fridayWeight;
+		}
+		return penalty;
+	}
+
+	/**
+	 * Gets the penalty for the gaps between activities on the same day. The
+	 * activities must not conflict.
+	 *
+	 * @param schedule activities in the schedule
+	 * @return the gap penalty
+	 */
+	public long getGapPenalty(List<? extends Activity> schedule) {
+		if (gapWeight == 0) {
+			return 0;
+		}
+		List<Activity> sorted = new ArrayList<Activity>(schedule);
+		Collections.sort(sorted, new Comparator<Activity>() {
+			@Override
+			public int compare(Activity a, Activity b) {
+				return Integer.compare(a.getStartMinute(), b.getStartMinute());
+			}
+		});
+		long gaps = 0;
+		for (int day = 1; day <= Activity.SUNDAY; day <<= 1) {
+			int lastEnd = -1;
+			for (Activity activity : sorted) {
+				if ((activity.getMeetingDaysMask() & day) != 0) {
+					if (lastEnd >= 0) {
+						gaps += activity.getStartMinute() - lastEnd;
+					}
+					lastEnd = activity.getEndMinute();
+				}
+			}
+		}
+		return gapWeight * gaps;
+	}
+
+	/**
+	 * Gets the total cost of a schedule
+	 *
+	 * @param schedule activities in the schedule, which must not conflict
+	 * @return the cost of the schedule
+	 */
+	public long getCost(List<? extends Activity> schedule) {
+		long cost = getGapPenalty(schedule);
+		int daysMask = 0;
+		for (Activity activity : schedule) {
+			cost += getEarlyPenalty(activity);
+			daysMask |= activity.getMeetingDaysMask();
+		}
+		return cost + getDaysPenalty(daysMask);
+	}
+}
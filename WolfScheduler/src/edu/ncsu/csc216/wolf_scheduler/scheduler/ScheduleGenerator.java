@@ -0,0 +1,178 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Enumerates every conflict-free combination of sections for a list of course
+ * names. Combinations are found by backtracking: sections are chosen one
+ * course at a time and a branch is abandoned as soon as its newest section
+ * conflicts with one already chosen. The course with the fewest sections is
+ * branched on first so that pruning happens as early as possible.
+ *
+ * Schedules are produced lazily through a Stream. A parallel stream splits the
+ * sections of the first course between fork-join workers, and each worker
+ * backtracks through its own share of the search.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class ScheduleGenerator {
+
+	/** Sections of the requested courses in search order */
+	private SectionGroups groups;
+
+	/**
+	 * Constructs a generator for the requested courses. Arranged sections are
+	 * included since they never conflict.
+	 *
+	 * @param catalog     catalog to choose sections from
+	 * @param courseNames names of the courses to schedule
+	 * @throws IllegalArgumentException if a name is repeated
+	 */
+	public ScheduleGenerator(List<Course> catalog, List<String> courseNames) {
+		groups = new SectionGroups(catalog, courseNames);
+	}
+
+	/**
+	 * Gets a lazy stream of every conflict-free schedule. Each schedule lists one
+	 * section per requested course in the order the courses were requested. The
+	 * stream is empty if a requested course has no sections in the catalog. Call
+	 * parallel() on the stream to search across all cores.
+	 *
+	 * @return stream of conflict-free schedules
+	 */
+	public Stream<List<Course>> stream() {
+		int first = groups.size() == 0 ? 1 : groups.getSections(0).length;
+		return StreamSupport.stream(new ScheduleSpliterator(0, first), false);
+	}
+
+	/**
+	 * Spliterator that backtracks through the schedules whose first section falls
+	 * in a range. Splitting hands the second half of the first-level sections it
+	 * hasn't started on to a new spliterator.
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	private class ScheduleSpliterator implements Spliterator<List<Course>> {
+
+		/** First-level section after the last one this spliterator covers */
+		private int end;
+		/** Section index being tried at each level */
+		private int[] chosen;
+		/** Level being tried, or -1 once the search is finished */
+		private int level;
+		/** Whether a schedule has been searched for yet */
+		private boolean started;
+
+		/**
+		 * Constructs a spliterator for a range of first-level sections
+		 *
+		 * @param from first first-level section
+		 * @param end  first-level section after the last one
+		 */
+		ScheduleSpliterator(int from, int end) {
+			this.end = end;
+			this.chosen = new int[Math.max(1, groups.size())];
+			this.chosen[0] = from;
+			this.level = 0;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super List<Course>> action) {
+			if (groups.size() == 0) {
+				if (chosen[0] < end) {
+					chosen[0] = end;
+					action.accept(Collections.<Course>emptyList());
+					return true;
+				}
+				return false;
+			}
+			if (started && level >= 0) {
+				// Move past the schedule that was returned last time
+				chosen[level]++;
+			}
+			started = true;
+			if (search()) {
+				action.accept(groups.toSchedule(chosen));
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Backtracks from the current position to the next conflict-free schedule
+		 *
+		 * @return true if a schedule was found, false if the search is finished
+		 */
+		private boolean search() {
+			while (level >= 0) {
+				int limit = level == 0 ? end : groups.getSections(level).length;
+				if (chosen[level] >= limit) {
+					level--;
+					if (level >= 0) {
+						chosen[level]++;
+					}
+				} else if (!fits(level)) {
+					chosen[level]++;
+				} else if (level == groups.size() - 1) {
+					return true;
+				} else {
+					level++;
+					chosen[level] = 0;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Checks if the section being tried at a level conflicts with the sections
+		 * chosen above it
+		 *
+		 * @param l level to check
+		 * @return true if the section fits
+		 */
+		private boolean fits(int l) {
+			Course course = groups.getSections(l)[chosen[l]];
+			for (int i = 0; i < l; i++) {
+				if (groups.getSections(i)[chosen[i]].conflictsWith(course)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public Spliterator<List<Course>> trySplit() {
+			if (groups.size() == 0 || level < 0) {
+				return null;
+			}
+			// Sections before from are being searched or already done
+			int from = started ? chosen[0] + 1 : chosen[0];
+			if (end - from < 2) {
+				return null;
+			}
+			int mid = from + (end - from) / 2;
+			ScheduleSpliterator split = new ScheduleSpliterator(mid, end);
+			end = mid;
+			return split;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public int characteristics() {
+			return NONNULL | IMMUTABLE;
+		}
+	}
+}
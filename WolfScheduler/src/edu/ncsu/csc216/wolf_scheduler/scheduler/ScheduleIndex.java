@@ -0,0 +1,131 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Index of the activities in a schedule that is kept alongside the schedule
+ * list. Each meeting day keeps its activities sorted by start minute, and since
+ * a schedule never holds two conflicting activities the intervals on a day
+ * never overlap. That means only the activity starting closest before a new
+ * activity ends can overlap it, so conflicts are found with one lookup per day.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class ScheduleIndex {
+
+	/** Number of meeting days in a week */
+	private static final int DAYS = 7;
+	/** Scheduled activities for each meeting day keyed by start minute */
+	private ArrayList<TreeMap<Integer, Activity>> days;
+	/** Names of the scheduled courses */
+	private HashSet<String> courseNames;
+	/** Titles of the scheduled events */
+	private HashSet<String> eventTitles;
+
+	/**
+	 * Constructs an empty schedule index
+	 */
+	public ScheduleIndex() {
+		days = new ArrayList<TreeMap<Integer, Activity>>(DAYS);
+		for (int i = 0; i < DAYS; i++) {
+			days.add(new TreeMap<Integer, Activity>());
+		}
+		courseNames = new HashSet<String>();
+		eventTitles = new HashSet<String>();
+	}
+
+	/**
+	 * Checks if the activity duplicates a scheduled activity, following the same
+	 * rules as Activity.isDuplicate
+	 *
+	 * @param activity activity to check
+	 * @return true if a course with the same name or an event with the same title
+	 *         is scheduled
+	 */
+	public boolean isDuplicate(Activity activity) {
+		if (activity instanceof Course) {
+			return courseNames.contains(((Course) activity).getName());
+		}
+		if (activity instanceof Event) {
+			return eventTitles.contains(activity.getTitle());
+		}
+		return false;
+	}
+
+	/**
+	 * Checks if the activity conflicts with any scheduled activity
+	 *
+	 * @param activity activity to check
+	 * @return true if the activity conflicts with a scheduled activity
+	 */
+	public boolean conflictsWith(Activity activity) {
+		int mask = activity.getMeetingDaysMask();
+		for (int day = 0; day < DAYS; day++) {
+			if ((mask & (1 << day)) != 0) {
+				Map.Entry<Integer, Activity> before = days.get(day).floorEntry(activity.getEndMinute());
+				if (before != null && before.getValue().conflictsWith(activity)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds a scheduled activity to the index. The activity must not conflict with
+	 * an activity that is already indexed.
+	 *
+	 * @param activity activity to add
+	 */
+	public void add(Activity activity) {
+		int mask = activity.getMeetingDaysMask();
+		for (int day = 0; day < DAYS; day++) {
+			if ((mask & (1 << day)) != 0) {
+				days.get(day).put(activity.getStartMinute(), activity);
+			}
+		}
+		if (activity instanceof Course) {
+			courseNames.add(((Course) activity).getName());
+		} else if (activity instanceof Event) {
+			eventTitles.add(activity.getTitle());
+		}
+	}
+
+	/**
+	 * Removes a scheduled activity from the index
+	 *
+	 * @param activity activity to remove
+	 */
+	public void remove(Activity activity) {
+		int mask = activity.getMeetingDaysMask();
+		for (int day = 0; day < DAYS; day++) {
+			if ((mask & (1 << day)) != 0) {
+				days.get(day).remove(activity.getStartMinute(), activity);
+			}
+		}
+		if (activity instanceof Course) {
+			courseNames.remove(((Course) activity).getName());
+		} else if (activity instanceof Event) {
+			eventTitles.remove(activity.getTitle());
+		}
+	}
+
+	/**
+	 * Removes every activity from the index
+	 */
+	public void clear() {
+		for (int day = 0; day < DAYS; day++) {
+			days.get(day).clear();
+		}
+		courseNames.clear();
+		eventTitles.clear();
+	}
+}
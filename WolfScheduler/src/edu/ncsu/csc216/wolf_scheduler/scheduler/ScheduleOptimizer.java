@@ -0,0 +1,253 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Finds the lowest cost conflict-free schedules for a list of courses with
+ * branch and bound. Early start and meeting day penalties can only grow as
+ * sections are added, so their total for a partial schedule, plus the smallest
+ * early start penalty each remaining course could add, is a lower bound on the
+ * cost of every schedule below it. A branch is cut once that bound is above the
+ * cost of the worst schedule being kept. Gap penalties can shrink as sections
+ * fill a day, so they are only counted on complete schedules.
+ *
+ * The combinations of the first two courses are searched in parallel on the
+ * common fork-join pool, and all workers share one bounded priority queue of
+ * the best schedules found so far.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class ScheduleOptimizer {
+
+	/** Starting capacity of the queue of best schedules */
+	private static final int INITIAL_CAPACITY = 16;
+	/** Orders candidates by cost and then by the sections chosen */
+	private static final Comparator<Candidate> BEST_FIRST = new Comparator<Candidate>() {
+		@Override
+		public int compare(Candidate a, Candidate b) {
+			int result = Long.compare(a.cost, b.cost);
+			for (int i = 0; result == 0 && i < a.chosen.length; i++) {
+				result = Integer.compare(a.chosen[i], b.chosen[i]);
+			}
+			return result;
+		}
+	};
+
+	/** Sections of the requested courses in search order */
+	private SectionGroups groups;
+	/** Cost function the schedules are ranked by */
+	private ScheduleCost cost;
+	/** Smallest early start penalty the courses from each level on can add */
+	private long[] remainingEarly;
+
+	/**
+	 * Constructs an optimizer for the requested courses
+	 *
+	 * @param catalog     catalog to choose sections from
+	 * @param courseNames names of the courses to schedule
+	 * @param cost        cost function to rank schedules by
+	 * @throws IllegalArgumentException if a name is repeated
+	 */
+	public ScheduleOptimizer(List<Course> catalog, List<String> courseNames, ScheduleCost cost) {
+		this.groups = new SectionGroups(catalog, courseNames);
+		this.cost = cost;
+		remainingEarly = new long[groups.size() + 1];
+		for (int level = groups.size() - 1; level >= 0; level--) {
+			long min = Long.MAX_VALUE;
+			for (Course course : groups.getSections(level)) {
+				min = Math.min(min, cost.getEarlyPenalty(course));
+			}
+			remainingEarly[level] = remainingEarly[level + 1] + (min == Long.MAX_VALUE ? 0 : min);
+		}
+	}
+
+	/**
+	 * Finds the lowest cost conflict-free schedules. Each schedule lists one
+	 * section per requested course in the order the courses were requested.
+	 * Schedules with the same cost are always returned in the same order, even
+	 * though the search runs in parallel.
+	 *
+	 * @param k largest number of schedules to return
+	 * @return up to k schedules, lowest cost first
+	 * @throws IllegalArgumentException if k is less than 1
+	 */
+	public List<List<Course>> findBest(int k) {
+		if (k < 1) {
+			throw new IllegalArgumentException("Invalid number of schedules.");
+		}
+		final TopSchedules best = new TopSchedules(k);
+		final int levels = groups.size();
+		if (levels == 0) {
+			search(best, new int[0], 0, 0, 0);
+		} else {
+			// Split on the first two levels so there is enough work to spread out
+			final int width = levels > 1 ? groups.getSections(1).length : 1;
+			int branches = groups.getSections(0).length * width;
+			IntStream.range(0, branches).parallel().forEach(new IntConsumer() {
+				@Override
+				public void accept(int branch) {
+					int[] chosen = new int[levels];
+					chosen[0] = branch / width;
+					Course first = groups.getSections(0)[chosen[0]];
+					int mask = first.getMeetingDaysMask();
+					long early = cost.getEarlyPenalty(first);
+					if (levels == 1) {
+						search(best, chosen, 1, mask, early);
+						return;
+					}
+					chosen[1] = branch % width;
+					Course second = groups.getSections(1)[chosen[1]];
+					if (!first.conflictsWith(second)) {
+						search(best, chosen, 2, mask | second.getMeetingDaysMask(), early + cost.getEarlyPenalty(second));
+					}
+				}
+			});
+		}
+		return best.toList();
+	}
+
+	/**
+	 * Searches every completion of a conflict-free partial schedule, skipping
+	 * branches whose lower bound is worse than the kept schedules
+	 *
+	 * @param best   best schedules found so far
+	 * @param chosen index of the section chosen at each level above level
+	 * @param level  level to choose a section for next
+	 * @param mask   meeting days bitmask of the chosen sections
+	 * @param early  early start penalty of the chosen sections
+	 */
+	private void search(TopSchedules best, int[] chosen, int level, int mask, long early) {
+		long bound = early + cost.getDaysPenalty(mask) + remainingEarly[level];
+		if (bound > best.getThreshold()) {
+			return;
+		}
+		if (level == groups.size()) {
+			List<Course> schedule = groups.toSchedule(chosen);
+			best.offer(new Candidate(early + cost.getDaysPenalty(mask) + cost.getGapPenalty(schedule), chosen.clone(),
+					schedule));
+			return;
+		}
+		Course[] sections = groups.getSections(level);
+		for (int i = 0; i < sections.length; i++) {
+			boolean fits = true;
+			for (int j = 0; j < level && fits; j++) {
+				fits = !groups.getSections(j)[chosen[j]].conflictsWith(sections[i]);
+			}
+			if (fits) {
+				chosen[level] = i;
+				search(best, chosen, level + 1, mask | sections[i].getMeetingDaysMask(),
+						early + cost.getEarlyPenalty(sections[i]));
+			}
+		}
+	}
+
+	/**
+	 * A complete schedule and its cost
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	private static class Candidate {
+
+		/** Cost of the schedule */
+		private long cost;
+		/** Index of the section chosen at each level, used to break ties */
+		private int[] chosen;
+		/** Sections in requested course order */
+		private List<Course> schedule;
+
+		/**
+		 * Constructs a candidate schedule
+		 *
+		 * @param cost     cost of the schedule
+		 * @param chosen   index of the section chosen at each level
+		 * @param schedule sections in requested course order
+		 */
+		Candidate(long cost, int[] chosen, List<Course> schedule) {
+			this.cost = cost;
+			this.chosen = chosen;
+			this.schedule = schedule;
+		}
+	}
+
+	/**
+	 * Bounded priority queue of the best schedules found by every worker. The
+	 * head of the queue is the worst schedule being kept, so it can be replaced
+	 * when a better one is found.
+	 *
+	 * @author Anisha Ponnapati
+	 *
+	 */
+	private static class TopSchedules {
+
+		/** Number of schedules to keep */
+		private int k;
+		/** Kept schedules, worst first */
+		private PriorityQueue<Candidate> queue;
+		/** Cost of the worst kept schedule once k are kept */
+		private volatile long threshold;
+
+		/**
+		 * Constructs an empty queue
+		 *
+		 * @param k number of schedules to keep
+		 */
+		TopSchedules(int k) {
+			this.k = k;
+			this.queue = new PriorityQueue<Candidate>(Math.min(k, INITIAL_CAPACITY), Collections.reverseOrder(BEST_FIRST));
+			this.threshold = Long.MAX_VALUE;
+		}
+
+		/**
+		 * Gets the cost a branch must not go over to be worth searching
+		 *
+		 * @return the cost of the worst kept schedule
+		 */
+		long getThreshold() {
+			return threshold;
+		}
+
+		/**
+		 * Keeps the candidate if it is one of the best k found so far
+		 *
+		 * @param candidate complete schedule
+		 */
+		synchronized void offer(Candidate candidate) {
+			if (queue.size() < k) {
+				queue.add(candidate);
+			} else if (BEST_FIRST.compare(candidate, queue.peek()) < 0) {
+				queue.poll();
+				queue.add(candidate);
+			} else {
+				return;
+			}
+			if (queue.size() == k) {
+				threshold = queue.peek().cost;
+			}
+		}
+
+		/**
+		 * Gets the kept schedules, best first
+		 *
+		 * @return list of schedules
+		 */
+		synchronized List<List<Course>> toList() {
+			List<Candidate> sorted = new ArrayList<Candidate>(queue);
+			Collections.sort(sorted, BEST_FIRST);
+			List<List<Course>> schedules = new ArrayList<List<Course>>(sorted.size());
+			for (Candidate candidate : sorted) {
+				schedules.add(candidate.schedule);
+			}
+			return schedules;
+		}
+	}
+}
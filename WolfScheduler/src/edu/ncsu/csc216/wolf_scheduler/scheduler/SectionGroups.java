@@ -0,0 +1,103 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Catalog sections of a list of requested courses, grouped by course for a
+ * search over section combinations. The groups are ordered with the course that
+ * has the fewest sections first, which lets a search prune as early as
+ * possible, and remember where each course was in the request.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+class SectionGroups {
+
+	/** Sections of each requested course, in search order */
+	private Course[][] sections;
+	/** Position in the requested course list of each course in search order */
+	private int[] requestOrder;
+
+	/**
+	 * Groups the catalog sections of each requested course. Arranged sections
+	 * are included since they never conflict.
+	 *
+	 * @param catalog     catalog to choose sections from
+	 * @param courseNames names of the courses to schedule
+	 * @throws IllegalArgumentException if a name is repeated
+	 */
+	SectionGroups(List<Course> catalog, List<String> courseNames) {
+		LinkedHashMap<String, List<Course>> groups = new LinkedHashMap<String, List<Course>>();
+		for (String name : courseNames) {
+			if (groups.put(name, new ArrayList<Course>()) != null) {
+				throw new IllegalArgumentException("Course " + name + " was requested more than once.");
+			}
+		}
+		for (Course course : catalog) {
+			List<Course> group = groups.get(course.getName());
+			if (group != null) {
+				group.add(course);
+			}
+		}
+
+		final List<List<Course>> requested = new ArrayList<List<Course>>(groups.values());
+		Integer[] order = new Integer[requested.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Integer.compare(requested.get(a).size(), requested.get(b).size());
+			}
+		});
+
+		sections = new Course[order.length][];
+		requestOrder = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			List<Course> group = requested.get(order[i]);
+			sections[i] = group.toArray(new Course[group.size()]);
+			requestOrder[i] = order[i];
+		}
+	}
+
+	/**
+	 * Gets the number of requested courses
+	 *
+	 * @return number of courses
+	 */
+	int size() {
+		return sections.length;
+	}
+
+	/**
+	 * Gets the sections of the course at a level of the search
+	 *
+	 * @param level level of the search
+	 * @return sections of the course
+	 */
+	Course[] getSections(int level) {
+		return sections[level];
+	}
+
+	/**
+	 * Builds a schedule in requested course order from the section chosen at
+	 * each level of the search
+	 *
+	 * @param chosen index of the section chosen at each level
+	 * @return the chosen sections
+	 */
+	List<Course> toSchedule(int[] chosen) {
+		Course[] schedule = new Course[sections.length];
+		for (int i = 0; i < sections.length; i++) {
+			schedule[requestOrder[i]] = sections[i][chosen[i]];
+		}
+		return Arrays.asList(schedule);
+	}
+}
@@ -6,13 +6,16 @@ package edu.ncsu.csc216.wolf_scheduler.scheduler;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
-import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictPair;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictSweep;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
 import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
-import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
 
 /**
  * Reads and stores as a list of the Course records stored in a file
@@ -21,27 +24,98 @@ import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
  */
 public class WolfScheduler {
 
-	/** Course catalog list */
-	private ArrayList<Course> catalog;
+	/** Course catalog, which may be shared with other schedulers */
+	private CourseCatalog catalog;
 	/** Schedule of the courses */
 	private ArrayList<Activity> schedule;
+	/** Index of the schedule used for duplicate and conflict checks */
+	private ScheduleIndex scheduleIndex;
 	/** Schedule title */
 	private String title;
 	
 	/**
-	 * Constructs course catalog, schedule, and title. Tries to add Course objects to catalog from file
+	 * Constructs course catalog, schedule, and title. Tries to add Course objects to catalog from file.
+	 * The file can be a course records file or a catalog snapshot written by MappedCatalog.convert(),
+	 * which is mapped instead of parsed.
 	 * @param fileName name of the file
 	 * @throws IllegalArgumentException if there is an error
 	 */
 	public WolfScheduler(String fileName) {
+		this(CourseCatalog.load(fileName));
+	}
+	
+	/**
+	 * Constructs an empty schedule over a catalog that was already loaded. The catalog is
+	 * shared, not copied, so any number of schedulers can use the same one.
+	 * @param catalog course catalog
+	 * @throws IllegalArgumentException if the catalog is null
+	 */
+	public WolfScheduler(CourseCatalog catalog) {
+		if(catalog == null) {
+			throw new IllegalArgumentException("Invalid catalog.");
+		}
+		this.catalog = catalog;
 		schedule = new ArrayList<Activity>();
+		scheduleIndex = new ScheduleIndex();
 		title = "My Schedule";
-		
-		try {
-			catalog = new ArrayList<Course>(CourseRecordIO.readCourseRecords(fileName));
-		} catch (FileNotFoundException e) {
-			throw new IllegalArgumentException("Cannot find file.");
+	}
+	
+	/**
+	 * Constructs an empty schedule over a term's catalog, loading the catalog if the
+	 * manager doesn't have it loaded
+	 * @param manager catalogs by term
+	 * @param termId id of the term
+	 * @throws IllegalArgumentException if the term isn't in the manager or its file can't be found
+	 */
+	public WolfScheduler(CatalogManager manager, String termId) {
+		this(manager.getCatalog(termId));
+	}
+	
+	/**
+	 * Switches to a new version of the catalog without losing the schedule. Only
+	 * scheduled courses that were removed or changed are looked at: a removed course
+	 * is dropped, and a changed course is replaced by its new version if that still
+	 * fits with the rest of the schedule, or dropped if it doesn't. Diffs must be
+	 * applied in the order they were made, so a diff from any catalog but the
+	 * current one is rejected and the schedule is left alone.
+	 * @param diff changes from the current catalog to the new one
+	 * @return courses dropped from the schedule, in schedule order
+	 * @throws IllegalArgumentException if the diff isn't from the current catalog
+	 */
+	public List<Activity> updateCatalog(CatalogDiff diff) {
+		if(diff.getPrevious() != catalog) {
+			throw new IllegalArgumentException("Catalog changes are not for this catalog.");
 		}
+		catalog = diff.getCatalog();
+		List<Activity> dropped = new ArrayList<Activity>();
+		List<Integer> affected = new ArrayList<Integer>();
+		for(int i = 0; i < schedule.size(); i++) {
+			if(schedule.get(i) instanceof Course && diff.affects((Course) schedule.get(i))) {
+				affected.add(i);
+				scheduleIndex.remove(schedule.get(i));
+			}
+		}
+		for(int i = 0; i < affected.size(); i++) {
+			int idx = affected.get(i) - dropped.size();
+			Course old = (Course) schedule.get(idx);
+			Course replacement = catalog.getCourse(old.getName(), old.getSection());
+			if(replacement != null && !scheduleIndex.conflictsWith(replacement)) {
+				schedule.set(idx, replacement);
+				scheduleIndex.add(replacement);
+			} else {
+				schedule.remove(idx);
+				dropped.add(old);
+			}
+		}
+		return dropped;
+	}
+	
+	/**
+	 * Gets the course catalog so it can be shared with other schedulers
+	 * @return the course catalog
+	 */
+	public CourseCatalog getCatalog() {
+		return catalog;
 	}
 
 	/**
@@ -50,17 +124,37 @@ public class WolfScheduler {
 	 * array if there are no Courses
 	 */
 	public String[][] getCourseCatalog() {
+		return toCatalogArray(catalog.getCourses());
+	}
+	
+	/**
+	 * Searches the catalog for sections whose course names start with the query or whose
+	 * titles contain the words of the query, ignoring case
+	 * @param query start of a course name or words of a title
+	 * @return array of the matching courses and details in catalog order, in the same form
+	 * as getCourseCatalog()
+	 */
+	public String[][] searchCatalog(String query) {
+		return toCatalogArray(catalog.getSearch().search(query));
+	}
+	
+	/**
+	 * Gets the name, section, title, and meeting string of each course
+	 * @param courses courses to list
+	 * @return array of the courses and details or empty string array if there are no Courses
+	 */
+	private String[][] toCatalogArray(List<Course> courses) {
 		String[][] catalogArray;
-		if(catalog.size() <= 0) {
+		if(courses.size() <= 0) {
 			catalogArray = new String[0][0];
 			return catalogArray;
 		} else {
-			catalogArray = new String[catalog.size()][4];
-			for(int i = 0; i < catalog.size(); i++) {
-				catalogArray[i][0] = catalog.get(i).getName();
-				catalogArray[i][1] = catalog.get(i).getSection();
-				catalogArray[i][2] = catalog.get(i).getTitle();
-				catalogArray[i][3] = catalog.get(i).getMeetingString();
+			catalogArray = new String[courses.size()][4];
+			for(int i = 0; i < courses.size(); i++) {
+				catalogArray[i][0] = courses.get(i).getName();
+				catalogArray[i][1] = courses.get(i).getSection();
+				catalogArray[i][2] = courses.get(i).getTitle();
+				catalogArray[i][3] = courses.get(i).getMeetingString();
 			}
 			return catalogArray;
 		}
@@ -116,6 +210,142 @@ public class WolfScheduler {
 		
 	}
 
+	/**
+	 * Replaces the schedule with the activities in a file saved by exportSchedule().
+	 * Course lines are linked to the catalog by name and section and event lines
+	 * become new events. The whole file is checked in one pass against a new index,
+	 * and an activity is kept only if adding the activities one at a time in file
+	 * order would have kept it: lines that aren't valid records, courses that
+	 * aren't in the catalog, and activities that duplicate or conflict with an
+	 * earlier line are skipped. The schedule isn't touched until the file is read.
+	 * @param fileName name of the file
+	 * @return line numbers of the skipped lines, starting at 1, in increasing order
+	 * @throws IllegalArgumentException if the file can't be found
+	 */
+	public int[] importSchedule(String fileName) {
+		ArrayList<Activity> activities;
+		try {
+			activities = ActivityRecordIO.readActivityRecords(fileName, new ActivityRecordIO.CourseLookup() {
+				@Override
+				public Course getCourse(String name, String section) {
+					return catalog.getCourse(name, section);
+				}
+			});
+		} catch (FileNotFoundException e) {
+			throw new IllegalArgumentException("Cannot find file.");
+		}
+		ArrayList<Activity> imported = new ArrayList<Activity>(activities.size());
+		ScheduleIndex index = new ScheduleIndex();
+		int[] skipped = new int[activities.size()];
+		int skippedCount = 0;
+		for (int i = 0; i < activities.size(); i++) {
+			Activity activity = activities.get(i);
+			if (activity == null || index.isDuplicate(activity) || index.conflictsWith(activity)) {
+				skipped[skippedCount++] = i + 1;
+			} else {
+				imported.add(activity);
+				index.add(activity);
+			}
+		}
+		// Replace the contents rather than the list, which queries hold on to
+		schedule.clear();
+		schedule.addAll(imported);
+		scheduleIndex = index;
+		return Arrays.copyOf(skipped, skippedCount);
+	}
+
+	/**
+	 * Finds every pair of conflicting sections in the catalog in one pass
+	 * @return list of conflicting pairs, empty if no sections conflict
+	 */
+	public List<ConflictPair> getCatalogConflicts() {
+		return ConflictSweep.findConflicts(catalog.getCourses());
+	}
+
+	/**
+	 * Gets the section-by-section conflict matrix for the catalog, building it
+	 * the first time it is requested
+	 * @return the catalog conflict matrix
+	 */
+	public CatalogConflictMatrix getCatalogConflictMatrix() {
+		return catalog.getConflictMatrix();
+	}
+
+	/**
+	 * Checks if a catalog section conflicts with anything in the schedule. Each
+	 * scheduled activity is compared directly, which is a day mask AND and two
+	 * time compares, so a check takes time in the size of the schedule and never
+	 * builds the catalog conflict matrix.
+	 * @param name Course name
+	 * @param section Course section
+	 * @return true if the section conflicts with the schedule, false if it doesn't
+	 * or isn't in the catalog
+	 */
+	public boolean conflictsWithSchedule(String name, String section) {
+		Course course = getCourseFromCatalog(name, section);
+		if(course == null) {
+			return false;
+		}
+		for(int i = 0; i < schedule.size(); i++) {
+			if(schedule.get(i).conflictsWith(course)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Generates every conflict-free combination of catalog sections for the courses,
+	 * with one section per course in the order the names are given. Schedules are
+	 * found lazily, so taking the first few returns quickly; call parallel() on the
+	 * stream to search on all cores.
+	 * @param courseNames names of the courses to schedule
+	 * @return stream of conflict-free schedules
+	 * @throws IllegalArgumentException if a course name is repeated
+	 */
+	public Stream<List<Course>> generateSchedules(List<String> courseNames) {
+		return new ScheduleGenerator(catalog.getCourses(), courseNames).stream();
+	}
+
+	/**
+	 * Finds the lowest cost conflict-free combinations of catalog sections for the
+	 * courses, with one section per course in the order the names are given
+	 * @param courseNames names of the courses to schedule
+	 * @param cost cost function to rank schedules by
+	 * @param k largest number of schedules to return
+	 * @return up to k schedules, lowest cost first
+	 * @throws IllegalArgumentException if a course name is repeated or k is less than 1
+	 */
+	public List<List<Course>> findBestSchedules(List<String> courseNames, ScheduleCost cost, int k) {
+		return new ScheduleOptimizer(catalog.getCourses(), courseNames, cost).findBest(k);
+	}
+
+	/**
+	 * Finds the catalog sections that match every given value. Pass null or
+	 * CatalogAttributeIndex.ANY to match any value.
+	 * @param instructorId id of the instructor, or null
+	 * @param meetingDays days the section must meet on, such as "TH", "A" for
+	 *        arranged sections, or null
+	 * @param startFrom earliest military start time, or ANY
+	 * @param startTo latest military start time, or ANY
+	 * @param credits number of credits, or ANY
+	 * @return matching sections in catalog order
+	 * @throws IllegalArgumentException if a start time isn't a valid military time
+	 *         or the meeting days have no days and aren't "A"
+	 */
+	public List<Course> findCourses(String instructorId, String meetingDays, int startFrom, int startTo, int credits) {
+		return catalog.getAttributeIndex().find(instructorId, meetingDays, startFrom, startTo, credits);
+	}
+
+	/**
+	 * Starts a query over the catalog that matches every section until conditions
+	 * are added to it. fitsSchedule() on the query checks against this schedule.
+	 * @return new catalog query
+	 */
+	public CatalogQuery queryCatalog() {
+		return new CatalogQuery(catalog.getBitsets(), schedule);
+	}
+
 	/**
 	 * Gets Course object from catalog
 	 * @param name Course name
@@ -123,12 +353,7 @@ public class WolfScheduler {
 	 * @return Course if found or else null
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		for(int i = 0; i < catalog.size(); i++) {
-			if(catalog.get(i).getName().equals(name) && catalog.get(i).getSection().equals(section) ) {
-				return catalog.get(i);
-			}
-		}
-		return null;
+		return catalog.getCourse(name, section);
 	}
 
 	/**
@@ -139,26 +364,20 @@ public class WolfScheduler {
 	 * @throws IllegalArgumentException if name of course matches
 	 */
 	public boolean addCourse(String name, String section) {
-		if(getCourseFromCatalog(name, section) == null) {
+		Course course = getCourseFromCatalog(name, section);
+		if(course == null) {
 			return false;
 		}
-		Course course;
-		course = getCourseFromCatalog(name, section);
-		for(int i = 0; i < schedule.size(); i++) {
-			if(schedule.get(i).isDuplicate(course)) {
-				throw new IllegalArgumentException("You are already enrolled in " + name);
-			}
+		if(scheduleIndex.isDuplicate(course)) {
+			throw new IllegalArgumentException("You are already enrolled in " + name);
 		}
 		
-		for(int i = 0; i < schedule.size(); i++) {
-			try {
-				schedule.get(i).checkConflict(course);
-			} catch (ConflictException e) {
-				throw new IllegalArgumentException("The course cannot be added due to a conflict.");
-			}
+		if(scheduleIndex.conflictsWith(course)) {
+			throw new IllegalArgumentException("The course cannot be added due to a conflict.");
 		}
 		
 		if(schedule.add(course)) {
+			scheduleIndex.add(course);
 			return true;
 		}
 		return false;
@@ -171,7 +390,7 @@ public class WolfScheduler {
 	 */
 	public boolean removeActivity(int idx) {
 		if(idx > -1 && idx < schedule.size()) {
-			schedule.remove(idx);
+			scheduleIndex.remove(schedule.remove(idx));
 			return true;
 		} else { 
 			return false;
@@ -182,8 +401,8 @@ public class WolfScheduler {
 	 * Resets schedule to empty ArrayList
 	 */
 	public void resetSchedule() {
-		schedule = new ArrayList<Activity>();
-		
+		schedule.clear();
+		scheduleIndex.clear();
 	}
 
 	/**
@@ -220,20 +439,15 @@ public class WolfScheduler {
 	public void addEvent(String eventTitle, String eventMeetingDays, int eventStartTime, int eventEndTime,
 			int eventWeeklyRepeat, String eventDetails) {
 		Event event = new Event(eventTitle, eventMeetingDays, eventStartTime, eventEndTime, eventWeeklyRepeat, eventDetails);
-		for(int i = 0; i < schedule.size(); i++) {
-			if(schedule.get(i).isDuplicate(event)) {
-				throw new IllegalArgumentException("You have already created an event called " + eventTitle);
-			}
+		if(scheduleIndex.isDuplicate(event)) {
+			throw new IllegalArgumentException("You have already created an event called " + eventTitle);
 		}
 		
-		for(int i = 0; i < schedule.size(); i++) {
-			try {
-				schedule.get(i).checkConflict(event);
-			} catch (ConflictException e) {
-				throw new IllegalArgumentException("The event cannot be added due to a conflict.");
-		 }
+		if(scheduleIndex.conflictsWith(event)) {
+			throw new IllegalArgumentException("The event cannot be added due to a conflict.");
 		}
 		schedule.add(event);
+		scheduleIndex.add(event);
 	}
 
 	
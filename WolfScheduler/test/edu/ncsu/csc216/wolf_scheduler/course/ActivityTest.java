@@ -65,4 +65,100 @@ public class ActivityTest {
 		    }
 	}
 
+	/**
+	 * Tests conflicts between activities that share only some of their meeting days
+	 */
+	@Test
+	public void testCheckConflictPartialDays() {
+		Activity a1 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445);
+		Activity a2 = new Event("Lunch", "M", 1400, 1500, 1, "");
+		try {
+			a1.checkConflict(a2);
+			fail("A ConflictException was not thrown when two Activities overlapped on Monday.");
+		} catch (ConflictException e) {
+			assertEquals("MW 1:30PM-2:45PM", a1.getMeetingString());
+		}
+		assertTrue(a2.conflictsWith(a1));
+
+		Activity a3 = new Event("Gym", "FSU", 1330, 1445, 1, "");
+		assertFalse(a1.conflictsWith(a3));
+		assertFalse(a3.conflictsWith(a1));
+
+		Activity arranged = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+		assertFalse(arranged.conflictsWith(a1));
+		assertFalse(a1.conflictsWith(arranged));
+	}
+
+	/**
+	 * Tests the precomputed meeting days mask and minute interval
+	 */
+	@Test
+	public void testWeekOccupancy() {
+		Activity a1 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 1330, 1445);
+		assertEquals(Activity.MONDAY | Activity.WEDNESDAY, a1.getMeetingDaysMask());
+		assertEquals(810, a1.getStartMinute());
+		assertEquals(885, a1.getEndMinute());
+
+		a1.setMeetingDays("TH");
+		a1.setActivityTime(905, 950);
+		assertEquals(Activity.TUESDAY | Activity.THURSDAY, a1.getMeetingDaysMask());
+		assertEquals(545, a1.getStartMinute());
+		assertEquals(590, a1.getEndMinute());
+
+		Activity arranged = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+		assertEquals(0, arranged.getMeetingDaysMask());
+	}
+
+	/**
+	 * Tests that meeting days and times read back as they were set from the
+	 * packed encoding
+	 */
+	@Test
+	public void testPackedMeetingDaysAndTimes() {
+		Activity a1 = new Event("Exercise", "UMTHFS", 5, 2359, 1, "");
+		assertEquals("UMTHFS", a1.getMeetingDays());
+		assertEquals(5, a1.getStartTime());
+		assertEquals(2359, a1.getEndTime());
+		assertEquals(Activity.SUNDAY | Activity.MONDAY | Activity.TUESDAY | Activity.THURSDAY | Activity.FRIDAY
+				| Activity.SATURDAY, a1.getMeetingDaysMask());
+
+		Activity a2 = new Event("Exercise", "MTHFSU", 5, 2359, 1, "");
+		assertEquals("MTHFSU", a2.getMeetingDays());
+		assertEquals(a1.getMeetingDaysMask(), a2.getMeetingDaysMask());
+		assertNotEquals(a1, a2);
+
+		a2.setMeetingDays("UMTHFS");
+		assertEquals(a1, a2);
+		assertEquals(a1.hashCode(), a2.hashCode());
+
+		Activity arranged = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+		assertEquals("A", arranged.getMeetingDays());
+		assertEquals(0, arranged.getStartTime());
+		assertEquals(0, arranged.getEndTime());
+		assertEquals("Arranged", arranged.getMeetingString());
+	}
+
+	/**
+	 * Tests that the meeting string is reused until a field it depends on changes
+	 */
+	@Test
+	public void testMeetingStringReset() {
+		Activity a1 = new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "MW", 0, 1200);
+		assertEquals("MW 12:00AM-12:00PM", a1.getMeetingString());
+		assertSame(a1.getMeetingString(), a1.getMeetingString());
+
+		a1.setActivityTime(1159, 2359);
+		assertEquals("MW 11:59AM-11:59PM", a1.getMeetingString());
+		a1.setMeetingDays("A");
+		a1.setActivityTime(0, 0);
+		assertEquals("Arranged", a1.getMeetingString());
+
+		Event e1 = new Event("Exercise", "MTWHF", 800, 905, 1, "Cardio Time!");
+		assertEquals("MTWHF 8:00AM-9:05AM (every 1 weeks)", e1.getMeetingString());
+		e1.setWeeklyRepeat(3);
+		assertEquals("MTWHF 8:00AM-9:05AM (every 3 weeks)", e1.getMeetingString());
+		e1.setMeetingDays("SU");
+		assertEquals("SU 8:00AM-9:05AM (every 3 weeks)", e1.getMeetingString());
+	}
+
 }
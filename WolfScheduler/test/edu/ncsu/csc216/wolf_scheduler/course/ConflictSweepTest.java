@@ -0,0 +1,86 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the ConflictSweep class.
+ * 
+ * @author Anisha Ponnapati
+ *
+ */
+public class ConflictSweepTest {
+
+	/**
+	 * Tests ConflictSweep.findConflicts() with a small schedule.
+	 */
+	@Test
+	public void testFindConflicts() {
+		List<Activity> activities = new ArrayList<Activity>();
+		Activity csc116 = new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100);
+		Activity csc226 = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025);
+		Activity lunch = new Event("Lunch", "MWF", 1100, 1200, 1, "");
+		Activity online = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+		activities.add(csc116);
+		activities.add(csc226);
+		activities.add(lunch);
+		activities.add(online);
+
+		assertEquals(0, ConflictSweep.findConflicts(new ArrayList<Activity>()).size());
+
+		//CSC116 and CSC226 overlap on M and W but are reported once
+		List<ConflictPair> conflicts = ConflictSweep.findConflicts(activities);
+		assertEquals(2, conflicts.size());
+		assertSame(csc116, conflicts.get(0).getFirst());
+		assertSame(csc226, conflicts.get(0).getSecond());
+		assertSame(csc116, conflicts.get(1).getFirst());
+		assertSame(lunch, conflicts.get(1).getSecond());
+	}
+
+	/**
+	 * Tests that ConflictSweep.findConflicts() finds the same pairs as checking
+	 * every pair with Activity.checkConflict().
+	 */
+	@Test
+	public void testFindConflictsMatchesCheckConflict() {
+		Random random = new Random(216);
+		String[] days = {"M", "TH", "MW", "MWF", "F", "SU", "MTWHF"};
+		List<Activity> activities = new ArrayList<Activity>();
+		for (int i = 0; i < 200; i++) {
+			int start = random.nextInt(22) * 100 + random.nextInt(60);
+			int end = Math.min(2359, start + random.nextInt(3) * 100 + random.nextInt(60));
+			if (end % 100 > 59) {
+				end = end - end % 100 + 59;
+			}
+			activities.add(new Event("Event" + i, days[random.nextInt(days.length)], start, end, 1, ""));
+		}
+
+		int expected = 0;
+		for (int i = 0; i < activities.size(); i++) {
+			for (int j = i + 1; j < activities.size(); j++) {
+				try {
+					activities.get(i).checkConflict(activities.get(j));
+				} catch (ConflictException e) {
+					expected++;
+				}
+			}
+		}
+
+		List<ConflictPair> conflicts = ConflictSweep.findConflicts(activities);
+		assertEquals(expected, conflicts.size());
+		for (ConflictPair pair : conflicts) {
+			assertTrue(activities.indexOf(pair.getFirst()) < activities.indexOf(pair.getSecond()));
+			try {
+				pair.getFirst().checkConflict(pair.getSecond());
+				fail("Reported pair does not conflict: " + pair);
+			} catch (ConflictException e) {
+				//expected
+			}
+		}
+	}
+}
@@ -602,6 +602,38 @@ public class CourseTest {
 		assertEquals(1526, c.getEndTime());
 	}
 	
+	/**
+	 * Tests the checks that validate fields without throwing exceptions.
+	 */
+	@Test
+	public void testIsValid() {
+		assertTrue(Course.isValidName(NAME));
+		assertFalse(Course.isValidName(null));
+		assertFalse(Course.isValidName("CSC"));
+		assertFalse(Course.isValidName("CSC2160"));
+		assertTrue(Activity.isValidTitle(TITLE));
+		assertFalse(Activity.isValidTitle(""));
+		assertTrue(Course.isValidSection(SECTION));
+		assertFalse(Course.isValidSection("01"));
+		assertFalse(Course.isValidSection("0a1"));
+		assertTrue(Course.isValidCredits(1));
+		assertTrue(Course.isValidCredits(5));
+		assertFalse(Course.isValidCredits(0));
+		assertFalse(Course.isValidCredits(6));
+		assertTrue(Course.isValidInstructorId(INSTRUCTOR_ID));
+		assertFalse(Course.isValidInstructorId(null));
+		assertTrue(Course.isValidMeetingDays("MTWHF"));
+		assertTrue(Course.isValidMeetingDays("A"));
+		assertFalse(Course.isValidMeetingDays("MA"));
+		assertFalse(Course.isValidMeetingDays("S"));
+		assertFalse(Course.isValidMeetingDays(""));
+		assertTrue(Activity.isValidTime(0));
+		assertTrue(Activity.isValidTime(2359));
+		assertFalse(Activity.isValidTime(2400));
+		assertFalse(Activity.isValidTime(1360));
+		assertFalse(Activity.isValidTime(-1));
+	}
+
 	/**
 	 * Tests that getMeetingString() works correctly
 	 */
@@ -519,4 +519,20 @@ public class EventTest {
 		
 	}
 
+	/**
+	 * Tests the static validity checks used when reading events from a file.
+	 */
+	@Test
+	public void testIsValid() {
+		assertTrue(Event.isValidMeetingDays("UMTWHFS"));
+		assertFalse(Event.isValidMeetingDays(null));
+		assertFalse(Event.isValidMeetingDays(""));
+		assertFalse(Event.isValidMeetingDays("A"));
+		assertFalse(Event.isValidMeetingDays("MX"));
+		assertTrue(Event.isValidWeeklyRepeat(1));
+		assertTrue(Event.isValidWeeklyRepeat(4));
+		assertFalse(Event.isValidWeeklyRepeat(0));
+		assertFalse(Event.isValidWeeklyRepeat(5));
+	}
+
 }
\ No newline at end of file
@@ -1,13 +1,28 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
+import org.junit.Assume;
 import org.junit.Test;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
@@ -60,6 +75,174 @@ public class ActivityRecordIOTest {
 		checkFiles("test-files/expected_activity_records.txt", "test-files/actual_activity_records.txt");
 	}
 
+	/**
+	 * Tests that writeActivityRecords() replaces an existing file and leaves no
+	 * temporary files behind.
+	 */
+	@Test
+	public void testWriteActivityRecordsReplacesFile() throws IOException {
+		File dir = Files.createTempDirectory("schedules").toFile();
+		dir.deleteOnExit();
+		File file = new File(dir, "schedule.txt");
+		file.deleteOnExit();
+
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		for (int i = 0; i < 5000; i++) {
+			activities.add(new Event("Event " + i, "MWF", 800, 900, 1, "Details " + i));
+		}
+		ActivityRecordIO.writeActivityRecords(file.getPath(), activities);
+		List<String> lines = Files.readAllLines(file.toPath(), Charset.defaultCharset());
+		assertEquals(5000, lines.size());
+		assertEquals("Event 4999,MWF,800,900,1,Details 4999", lines.get(4999));
+
+		activities.clear();
+		activities.add(new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A"));
+		ActivityRecordIO.writeActivityRecords(file.getPath(), activities);
+		lines = Files.readAllLines(file.toPath(), Charset.defaultCharset());
+		assertEquals(1, lines.size());
+		assertEquals("CSC216,Programming Concepts - Java,601,4,jep,A", lines.get(0));
+		assertArrayEquals(new String[] {"schedule.txt"}, dir.list());
+	}
+
+	/**
+	 * Tests that writeActivityRecords() replaces the file a symbolic link points to
+	 * and keeps the old file's permissions.
+	 */
+	@Test
+	public void testWriteActivityRecordsLinkAndPermissions() throws IOException {
+		File dir = Files.createTempDirectory("schedules").toFile();
+		dir.deleteOnExit();
+		File real = new File(dir, "real.txt");
+		real.deleteOnExit();
+		File link = new File(dir, "schedule.txt");
+		link.deleteOnExit();
+		Files.write(real.toPath(), Arrays.asList("old"));
+		try {
+			Files.createSymbolicLink(link.toPath(), Paths.get("real.txt"));
+		} catch (UnsupportedOperationException | IOException e) {
+			Assume.assumeNoException(e);
+		}
+		boolean posix = Files.getFileAttributeView(real.toPath(), PosixFileAttributeView.class) != null;
+		if (posix) {
+			Files.setPosixFilePermissions(real.toPath(), PosixFilePermissions.fromString("rw-r-----"));
+		}
+
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Event("Exercise", "UMTHFS", 800, 900, 1, "Cardio"));
+		ActivityRecordIO.writeActivityRecords(link.getPath(), activities);
+		assertTrue(Files.isSymbolicLink(link.toPath()));
+		assertEquals(Arrays.asList("Exercise,UMTHFS,800,900,1,Cardio"),
+				Files.readAllLines(real.toPath(), Charset.defaultCharset()));
+		if (posix) {
+			assertEquals("rw-r-----", PosixFilePermissions.toString(Files.getPosixFilePermissions(real.toPath())));
+		}
+		String[] names = dir.list();
+		Arrays.sort(names);
+		assertArrayEquals(new String[] {"real.txt", "schedule.txt"}, names);
+	}
+
+	/**
+	 * Tests that writeActivityRecords() reports files it can't write and cleans up
+	 * after itself.
+	 */
+	@Test
+	public void testWriteActivityRecordsErrors() throws IOException {
+		File dir = Files.createTempDirectory("schedules").toFile();
+		dir.deleteOnExit();
+		File target = new File(dir, "schedule.txt");
+		assertTrue(target.mkdir());
+		target.deleteOnExit();
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Event("Exercise", "UMTHFS", 800, 900, 1, "Cardio"));
+
+		// A non-empty directory can't be replaced by a file
+		File inside = new File(target, "keep.txt");
+		assertTrue(inside.createNewFile());
+		inside.deleteOnExit();
+		try {
+			ActivityRecordIO.writeActivityRecords(target.getPath(), activities);
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertTrue(target.isDirectory());
+		}
+		assertArrayEquals(new String[] {"schedule.txt"}, dir.list());
+
+		try {
+			ActivityRecordIO.writeActivityRecords(new File(dir, "missing/schedule.txt").getPath(), activities);
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertArrayEquals(new String[] {"schedule.txt"}, dir.list());
+		}
+	}
+
+	/**
+	 * Tests readActivityRecords() with course lines, event lines and invalid lines
+	 */
+	@Test
+	public void testReadActivityRecords() throws IOException {
+		final Map<String, Course> catalog = new HashMap<String, Course>();
+		Course csc116 = new Course("CSC116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440);
+		Course csc216 = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+		catalog.put("CSC116,003", csc116);
+		catalog.put("CSC216,601", csc216);
+		ActivityRecordIO.CourseLookup lookup = new ActivityRecordIO.CourseLookup() {
+			@Override
+			public Course getCourse(String name, String section) {
+				return catalog.get(name + "," + section);
+			}
+		};
+
+		File file = File.createTempFile("schedule", ".txt");
+		file.deleteOnExit();
+		String[] lines = {
+			"CSC116,Intro to Programming - Java,003,3,spbalik,MW,1250,1440",
+			"Exercise,UMTHFS,800,900,1,Cardio, with rest day on Wednesday.",
+			"Lunch,MTWHF,1200,1230,2,",
+			"CSC999,Unknown Course,001,3,someone,MW,800,900",
+			"Exercise,MW,900,800,1,Ends before it starts",
+			"Nap,MW,100,200,5,Too often",
+			"Nap,MW,100,200,1",
+			"",
+			"CSC216,Programming Concepts - Java,601,4,jep,A"
+		};
+		StringBuilder contents = new StringBuilder();
+		for (String line : lines) {
+			contents.append(line).append("\r\n");
+		}
+		Files.write(file.toPath(), contents.toString().getBytes(Charset.defaultCharset()));
+
+		ArrayList<Activity> activities = ActivityRecordIO.readActivityRecords(file.getPath(), lookup);
+		assertEquals(lines.length, activities.size());
+		assertSame(csc116, activities.get(0));
+		assertEquals(new Event("Exercise", "UMTHFS", 800, 900, 1, "Cardio, with rest day on Wednesday."),
+				activities.get(1));
+		assertEquals("Cardio, with rest day on Wednesday.", ((Event) activities.get(1)).getEventDetails());
+		assertEquals("Lunch,MTWHF,1200,1230,2,", activities.get(2).toString());
+		for (int i = 3; i < 8; i++) {
+			assertNull(lines[i], activities.get(i));
+		}
+		assertSame(csc216, activities.get(8));
+
+		// The records written for a schedule read back as the same schedule
+		ArrayList<Activity> schedule = new ArrayList<Activity>();
+		schedule.add(csc116);
+		schedule.add(new Event("Exercise", "UMTHFS", 800, 900, 1, "Cardio"));
+		schedule.add(csc216);
+		ActivityRecordIO.writeActivityRecords(file.getPath(), schedule);
+		activities = ActivityRecordIO.readActivityRecords(file.getPath(), lookup);
+		assertEquals(3, activities.size());
+		assertSame(csc116, activities.get(0));
+		assertEquals(schedule.get(1).toString(), activities.get(1).toString());
+		assertSame(csc216, activities.get(2));
+
+		try {
+			ActivityRecordIO.readActivityRecords("test-files/nonexistent.txt", lookup);
+			fail("Expected FileNotFoundException");
+		} catch (FileNotFoundException e) {
+			// expected
+		}
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
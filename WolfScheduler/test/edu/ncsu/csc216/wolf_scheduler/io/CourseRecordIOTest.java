@@ -2,18 +2,37 @@ package edu.ncsu.csc216.wolf_scheduler.io;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.Charset;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordReport.Field;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordReport.Reason;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordReport.Rejection;
 
 /**
  * Tests CouresRecordIO.
@@ -86,6 +105,354 @@ public class CourseRecordIOTest {
 			fail("Unexpected FileNotFoundException");
 		}
 	}
+
+
+	/**
+	 * Tests that readCourse() accepts and rejects the same lines as the Scanner it
+	 * replaced, including lines with missing, empty, extra and signed fields.
+	 */
+	@Test
+	public void testReadCourseMatchesScanner() {
+		String[] fields = {"CSC216", "Programming Concepts - Java", "001", "4", "sesmith5", "MW", "1330", "1445"};
+		String[] noise = {"", " ", ",", "A", "+4", "-4", "04", "4x", "\u0664", "99999999999", "TH", "0910", "x"};
+		Random random = new Random(216);
+		for (int n = 0; n < 20000; n++) {
+			StringBuilder line = new StringBuilder();
+			if (random.nextInt(10) == 0) {
+				line.append(',');
+			}
+			int count = 4 + random.nextInt(6);
+			for (int i = 0; i < count; i++) {
+				if (i > 0) {
+					line.append(',');
+				}
+				int pick = random.nextInt(4);
+				if (pick == 0) {
+					line.append(noise[random.nextInt(noise.length)]);
+				} else if (pick == 1 && i == 5) {
+					line.append('A');
+				} else {
+					line.append(fields[i % fields.length]);
+				}
+			}
+			if (random.nextInt(10) == 0) {
+				line.append(',');
+			}
+			String text = line.toString();
+			String expected = readCourseWithScanner(text);
+			String actual;
+			try {
+				actual = CourseRecordIO.readCourse(text).toString();
+			} catch (IllegalArgumentException e) {
+				actual = null;
+			}
+			assertEquals(text, expected, actual);
+		}
+	}
+
+	/**
+	 * Tests that readCourseRecords() splits lines the same way as a Scanner,
+	 * including a \r\n split across the parser's reads and a last line with no
+	 * line terminator.
+	 */
+	@Test
+	public void testReadCourseRecordsLineEndings() throws IOException {
+		String[] terminators = {"\n", "\r\n", "\r", "\u2028", "\u0085"};
+		if (!Charset.defaultCharset().newEncoder().canEncode("\u2028\u0085")) {
+			terminators = new String[] {"\n", "\r\n", "\r"};
+		}
+		StringBuilder text = new StringBuilder();
+		Random random = new Random(116);
+		for (int i = 0; i < 5000; i++) {
+			if (random.nextInt(20) == 0) {
+				text.append("not a course");
+			} else {
+				text.append("CSC").append(100 + i % 400).append(",Title ").append(i % 7).append(",")
+						.append(String.format("%03d", i / 400)).append(",3,id").append(i % 13).append(",MW,910,1100");
+			}
+			text.append(terminators[random.nextInt(terminators.length)]);
+		}
+		text.append("CSC999,Last Line,001,3,id,A");
+		File file = File.createTempFile("course_records", ".txt");
+		file.deleteOnExit();
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charset.defaultCharset());
+		writer.write(text.toString());
+		writer.close();
+
+		ArrayList<String> expected = new ArrayList<String>();
+		HashSet<String> keys = new HashSet<String>();
+		Scanner fileReader = new Scanner(new FileInputStream(file));
+		while (fileReader.hasNextLine()) {
+			String course = readCourseWithScanner(fileReader.nextLine());
+			if (course != null) {
+				String[] values = course.split(",");
+				if (keys.add(values[0] + "," + values[2])) {
+					expected.add(course);
+				}
+			}
+		}
+		fileReader.close();
+
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(file.getPath());
+		assertEquals(expected.size(), courses.size());
+		for (int i = 0; i < courses.size(); i++) {
+			assertEquals(expected.get(i), courses.get(i).toString());
+		}
+		assertEquals("CSC999", courses.get(courses.size() - 1).getName());
+	}
+
+	/**
+	 * Tests loadCourseRecords().
+	 */
+	@Test
+	public void testLoadCourseRecords() throws IOException {
+		CourseRecordReport report = CourseRecordIO.loadCourseRecords(validTestFile);
+		assertEquals(8, report.getCourses().size());
+		for (int i = 0; i < validCourses.length; i++) {
+			assertEquals(validCourses[i], report.getCourses().get(i).toString());
+		}
+		// CSC116-002 is listed again on line 4
+		assertArrayEquals(new int[] {4}, report.getDuplicateLines());
+		assertEquals(9, report.getLineCount());
+
+		assertEquals(0, report.getRejections().size());
+
+		report = CourseRecordIO.loadCourseRecords(invalidTestFile);
+		assertEquals(0, report.getCourses().size());
+		assertEquals(0, report.getDuplicateLines().length);
+		String[] rejections = {"1,NAME,INVALID", "2,SECTION,INVALID", "3,SECTION,INVALID",
+				"4,CREDITS,NOT_A_NUMBER", "5,MEETING_DAYS,INVALID", "6,MEETING_DAYS,INVALID",
+				"7,END_TIME,MISSING", "8,END_TIME,MISSING", "9,NAME,INVALID", "10,TITLE,EMPTY",
+				"11,SECTION,INVALID", "12,CREDITS,INVALID", "13,INSTRUCTOR_ID,EMPTY",
+				"14,START_TIME,UNEXPECTED", "15,START_TIME,UNEXPECTED", "16,START_TIME,INVALID",
+				"17,END_TIME,INVALID"};
+		assertEquals(rejections.length, report.getRejections().size());
+		for (int i = 0; i < rejections.length; i++) {
+			assertEquals(rejections[i], report.getRejections().get(i).toString());
+		}
+		Rejection rejection = report.getRejections().get(9);
+		assertEquals(10, rejection.getLine());
+		assertEquals(Field.TITLE, rejection.getField());
+		assertEquals(Reason.EMPTY, rejection.getReason());
+
+		// Every line after the first is a duplicate
+		File file = File.createTempFile("course_records", ".txt");
+		file.deleteOnExit();
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charset.defaultCharset());
+		for (int i = 0; i < 100; i++) {
+			writer.write("CSC216,Programming Concepts - Java,001,4,id" + i + ",MW,1330,1445\n");
+		}
+		writer.close();
+		report = CourseRecordIO.loadCourseRecords(file.getPath());
+		assertEquals(1, report.getCourses().size());
+		assertEquals("id0", report.getCourses().get(0).getInstructorId());
+		int[] duplicates = report.getDuplicateLines();
+		assertEquals(99, duplicates.length);
+		for (int i = 0; i < duplicates.length; i++) {
+			assertEquals(i + 2, duplicates[i]);
+		}
+	}
+
+	/**
+	 * Tests that reading a file in chunks on several threads gives the same courses
+	 * in the same order as reading it on one, with duplicates in different chunks.
+	 */
+	@Test
+	public void testReadCourseRecordsParallel() throws IOException {
+		StringBuilder text = new StringBuilder();
+		Random random = new Random(230);
+		for (int i = 0; i < 20000; i++) {
+			if (random.nextInt(50) == 0) {
+				text.append("CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1445");
+			} else {
+				text.append("CSC").append(100 + random.nextInt(300)).append(",Title ").append(i).append(",")
+						.append(String.format("%03d", random.nextInt(20))).append(",3,id,TH,1330,1445");
+			}
+			text.append(random.nextBoolean() ? "\n" : "\r\n");
+		}
+		File file = File.createTempFile("course_records", ".txt");
+		file.deleteOnExit();
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charset.defaultCharset());
+		writer.write(text.toString());
+		writer.close();
+
+		CourseRecordReport sequential = CourseRecordIO.loadCourseRecords(file.getPath(), 1, 0);
+		ArrayList<Course> expected = sequential.getCourses();
+		assertTrue(sequential.getRejections().size() > 100);
+		assertTrue(expected.size() > 1000 && expected.size() < 6000);
+		assertEquals(20000, sequential.getLineCount());
+		for (int threads = 2; threads <= 7; threads++) {
+			CourseRecordReport report = CourseRecordIO.loadCourseRecords(file.getPath(), threads, 0);
+			ArrayList<Course> actual = report.getCourses();
+			assertEquals(expected.size(), actual.size());
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i).toString(), actual.get(i).toString());
+			}
+			assertArrayEquals(sequential.getDuplicateLines(), report.getDuplicateLines());
+			assertEquals(sequential.getRejections().toString(), report.getRejections().toString());
+			assertEquals(20000, report.getLineCount());
+		}
+		assertEquals(expected, CourseRecordIO.readCourseRecords(file.getPath()));
+
+		// More threads than lines
+		assertEquals(8, CourseRecordIO.readCourseRecords(validTestFile, 64, 0).size());
+		try {
+			CourseRecordIO.readCourseRecords(validTestFile, 0, 0);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid number of threads.", e.getMessage());
+		}
+		try {
+			CourseRecordIO.readCourseRecords("test-files/no_such_file.txt", 4, 0);
+			fail("Expected FileNotFoundException");
+		} catch (FileNotFoundException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests that the parser reports a reader that fails part way through instead
+	 * of treating the failure as the end of the file.
+	 */
+	@Test
+	public void testReadError() {
+		final String line = "CSC116,Intro to Programming - Java,001,3,jdyoung2,MW,910,1100\n";
+		Reader failing = new Reader() {
+			private boolean read;
+
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				if (read) {
+					throw new IOException("Disk error");
+				}
+				read = true;
+				line.getChars(0, line.length(), cbuf, off);
+				return line.length();
+			}
+
+			@Override
+			public void close() {
+				// nothing to close
+			}
+		};
+		CourseRecordParser parser = new CourseRecordParser(failing);
+		assertTrue(parser.nextLine());
+		assertEquals("CSC116", parser.readLine().getName());
+		assertFalse(parser.nextLine());
+		assertEquals("Disk error", parser.getError().getMessage());
+
+		parser = new CourseRecordParser(new StringReader(line));
+		assertTrue(parser.nextLine());
+		assertFalse(parser.nextLine());
+		assertNull(parser.getError());
+	}
+
+	/**
+	 * Tests streamCourseRecords().
+	 */
+	@Test
+	public void testStreamCourseRecords() throws IOException {
+		Stream<Course> stream = CourseRecordIO.streamCourseRecords(validTestFile);
+		Iterator<Course> courses = stream.iterator();
+		ArrayList<String> keys = new ArrayList<String>();
+		int count = 0;
+		while (courses.hasNext()) {
+			Course course = courses.next();
+			count++;
+			String key = course.getName() + "," + course.getSection();
+			if (!keys.contains(key)) {
+				keys.add(key);
+				assertEquals(validCourses[keys.size() - 1], course.toString());
+			}
+		}
+		stream.close();
+		// Repeated sections are streamed too
+		assertEquals(9, count);
+		assertEquals(validCourses.length, keys.size());
+		try {
+			courses.next();
+			fail("Expected NoSuchElementException");
+		} catch (NoSuchElementException e) {
+			// expected
+		}
+
+		stream = CourseRecordIO.streamCourseRecords(invalidTestFile);
+		assertEquals(0, stream.count());
+		stream.close();
+
+		try {
+			CourseRecordIO.streamCourseRecords("test-files/no_such_file.txt");
+			fail("Expected FileNotFoundException");
+		} catch (FileNotFoundException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Tests CourseRecordIO.readCourseLines() reusing the courses from an earlier read.
+	 * @throws IOException if the file can't be read
+	 */
+	@Test
+	public void testReadCourseLines() throws IOException {
+		HashMap<String, Course> first = new HashMap<String, Course>();
+		List<Course> courses = CourseRecordIO.readCourseLines(validTestFile, new HashMap<String, Course>(), first);
+		assertEquals(9, courses.size());
+		assertEquals(validCourses[0], courses.get(0).toString());
+
+		HashMap<String, Course> second = new HashMap<String, Course>();
+		List<Course> again = CourseRecordIO.readCourseLines(validTestFile, first, second);
+		assertEquals(first, second);
+		for (int i = 0; i < courses.size(); i++) {
+			assertSame(courses.get(i), again.get(i));
+		}
+
+		for (Course course : CourseRecordIO.readCourseLines(invalidTestFile, first, new HashMap<String, Course>())) {
+			assertNull(course);
+		}
+		try {
+			CourseRecordIO.readCourseLines("test-files/no_such_file.txt", first, second);
+			fail("Expected FileNotFoundException");
+		} catch (FileNotFoundException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Reads a line the way readCourse() did before it had its own parser
+	 * @param line line to read
+	 * @return the course as a String, or null if the line is invalid
+	 */
+	private String readCourseWithScanner(String line) {
+		Scanner s = new Scanner(line);
+		s.useDelimiter(",");
+		try {
+			String name = s.next();
+			String title = s.next();
+			String section = s.next();
+			int credits = s.nextInt();
+			String instructor = s.next();
+			String meetingDays = s.next();
+			if (name.equals("") || title.equals("") || section.equals("") || instructor.equals("")
+					|| meetingDays.equals("")) {
+				return null;
+			}
+			if (meetingDays.contains("A")) {
+				if (s.hasNext()) {
+					return null;
+				}
+				return new Course(name, title, section, credits, instructor, meetingDays).toString();
+			}
+			int start = s.nextInt();
+			int end = s.nextInt();
+			return new Course(name, title, section, credits, instructor, meetingDays, start, end).toString();
+		} catch (NoSuchElementException e) {
+			return null;
+		} catch (IllegalArgumentException e) {
+			return null;
+		} finally {
+			s.close();
+		}
+	}
 	
 
 //	/**
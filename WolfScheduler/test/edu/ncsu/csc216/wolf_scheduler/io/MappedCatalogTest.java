@@ -0,0 +1,289 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the MappedCatalog class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class MappedCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/** Temporary catalog file */
+	private File file;
+
+	/**
+	 * Creates a temporary file for each test.
+	 * 
+	 * @throws IOException if the file can't be created
+	 */
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("catalog", ".bin");
+		file.deleteOnExit();
+	}
+
+	/**
+	 * Tests writing a catalog and mapping it back.
+	 * 
+	 * @throws IOException if the file can't be written or read
+	 */
+	@Test
+	public void testWriteAndOpen() throws IOException {
+		List<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		courses.add(new Course("CSC216", "Programming Concepts - Java", "602", 4, "sesmith5", "HT", 1330, 1445));
+		MappedCatalog.write(file.getPath(), courses);
+
+		MappedCatalog mapped = MappedCatalog.open(file.getPath());
+		assertEquals(courses.size(), mapped.size());
+		assertEquals(courses, mapped);
+		assertEquals("HT", mapped.get(courses.size() - 1).getMeetingDays());
+		assertSame(mapped.get(3), mapped.get(3));
+
+		for (int i = 0; i < courses.size(); i++) {
+			assertEquals(i, mapped.indexOf(courses.get(i).getName(), courses.get(i).getSection()));
+		}
+		assertEquals(-1, mapped.indexOf("CSC216", "999"));
+		assertEquals(-1, mapped.indexOf("AAA100", "001"));
+		assertEquals(-1, mapped.indexOf("ZZZ999", "001"));
+		assertEquals(-1, mapped.indexOf(null, "001"));
+
+		try {
+			mapped.set(0, courses.get(0));
+			fail();
+		} catch (UnsupportedOperationException e) {
+			assertEquals(courses.size(), mapped.size());
+		}
+	}
+
+	/**
+	 * Tests that writing over a mapped catalog file replaces it instead of
+	 * changing it in place, so the old mapping still reads the old catalog.
+	 * 
+	 * @throws IOException if the file can't be written or read
+	 */
+	@Test
+	public void testWriteOverMappedFile() throws IOException {
+		File dir = Files.createTempDirectory("catalogs").toFile();
+		dir.deleteOnExit();
+		File catalog = new File(dir, "catalog.bin");
+		catalog.deleteOnExit();
+		List<Course> courses = CourseRecordIO.readCourseRecords(validTestFile);
+		MappedCatalog.write(catalog.getPath(), courses);
+		MappedCatalog mapped = MappedCatalog.open(catalog.getPath());
+
+		List<Course> smaller = new ArrayList<Course>(courses.subList(0, 2));
+		MappedCatalog.write(catalog.getPath(), smaller);
+		assertEquals(courses, mapped);
+		assertEquals(smaller, MappedCatalog.open(catalog.getPath()));
+		assertArrayEquals(new String[] {"catalog.bin"}, dir.list());
+
+		try {
+			MappedCatalog.write(new File(dir, "missing/catalog.bin").getPath(), courses);
+			fail();
+		} catch (IOException e) {
+			assertArrayEquals(new String[] {"catalog.bin"}, dir.list());
+		}
+	}
+
+	/**
+	 * Tests mapping an empty catalog.
+	 * 
+	 * @throws IOException if the file can't be written or read
+	 */
+	@Test
+	public void testEmpty() throws IOException {
+		MappedCatalog.write(file.getPath(), new ArrayList<Course>());
+		MappedCatalog mapped = MappedCatalog.open(file.getPath());
+		assertEquals(0, mapped.size());
+		assertEquals(-1, mapped.indexOf("CSC216", "001"));
+	}
+
+	/**
+	 * Tests mapping files that aren't catalog files.
+	 * 
+	 * @throws IOException if the file can't be written
+	 */
+	@Test
+	public void testInvalidFile() throws IOException {
+		try {
+			MappedCatalog.open("test-files/not_a_file.bin");
+			fail();
+		} catch (FileNotFoundException e) {
+			assertNotNull(e.getMessage());
+		}
+		try {
+			MappedCatalog.open(validTestFile);
+			fail();
+		} catch (IOException e) {
+			assertEquals("Invalid catalog file.", e.getMessage());
+		}
+
+		MappedCatalog.write(file.getPath(), CourseRecordIO.readCourseRecords(validTestFile));
+		FileOutputStream out = new FileOutputStream(file, true);
+		out.write(0);
+		out.close();
+		try {
+			MappedCatalog.open(file.getPath());
+			fail();
+		} catch (IOException e) {
+			assertEquals("Invalid catalog file.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that verify() finds a damaged catalog file that open() accepts.
+	 * 
+	 * @throws IOException if the file can't be written or read
+	 */
+	@Test
+	public void testChecksum() throws IOException {
+		MappedCatalog.write(file.getPath(), CourseRecordIO.readCourseRecords(validTestFile));
+		MappedCatalog.open(file.getPath()).verify();
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		assertEquals(MappedCatalog.VERSION, readInt(raf, 4));
+		// Change a credit hour in the third record
+		raf.seek(MappedCatalog.HEADER_BYTES + 2 * MappedCatalog.RECORD_BYTES + 18);
+		raf.write(4);
+		raf.close();
+		MappedCatalog mapped = MappedCatalog.open(file.getPath());
+		try {
+			mapped.verify();
+			fail();
+		} catch (IOException e) {
+			assertEquals("Invalid catalog file.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that out of range dictionary ids, heap offsets and record numbers
+	 * are reported as a damaged file when they are read.
+	 * 
+	 * @throws IOException if the file can't be written or read
+	 */
+	@Test
+	public void testDamagedRecords() throws IOException {
+		MappedCatalog.write(file.getPath(), CourseRecordIO.readCourseRecords(validTestFile));
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		int dictionaryOffset = readInt(raf, 20);
+		// Title id of the first record, heap offset of the second string, and
+		// the first record number in the sorted order
+		writeInt(raf, MappedCatalog.HEADER_BYTES + 4, 9999);
+		writeInt(raf, dictionaryOffset + 4, Integer.MAX_VALUE - 1);
+		writeInt(raf, dictionaryOffset - 8 * 4, -1);
+		raf.close();
+
+		MappedCatalog mapped = MappedCatalog.open(file.getPath());
+		for (int index : new int[] {0, 1}) {
+			try {
+				mapped.get(index);
+				fail();
+			} catch (UncheckedIOException e) {
+				assertEquals("Invalid catalog file.", e.getCause().getMessage());
+			}
+		}
+		try {
+			mapped.indexOf("CSC116", "001");
+			fail();
+		} catch (UncheckedIOException e) {
+			assertEquals("Invalid catalog file.", e.getCause().getMessage());
+		}
+	}
+
+	/**
+	 * Tests converting a course records file and telling the two kinds of file apart.
+	 * 
+	 * @throws IOException if the file can't be written or read
+	 */
+	@Test
+	public void testConvert() throws IOException {
+		assertFalse(MappedCatalog.isCatalogFile(validTestFile));
+		MappedCatalog.convert(validTestFile, file.getPath());
+		assertTrue(MappedCatalog.isCatalogFile(file.getPath()));
+
+		MappedCatalog mapped = MappedCatalog.open(file.getPath());
+		assertEquals(CourseRecordIO.readCourseRecords(validTestFile), mapped);
+		// Strings are decoded once and shared
+		assertSame(mapped.get(0).getTitle(), mapped.get(1).getTitle());
+
+		File records = File.createTempFile("course_records", ".txt");
+		records.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(records);
+		out.write("WOLF01,Starts With The Magic Number,001,3,id,A\n".getBytes(StandardCharsets.US_ASCII));
+		out.write("WOLF02,Second Line Of The File,001,3,id,A\n".getBytes(StandardCharsets.US_ASCII));
+		out.close();
+		assertFalse(MappedCatalog.isCatalogFile(records.getPath()));
+		try {
+			MappedCatalog.isCatalogFile("test-files/not_a_file.bin");
+			fail();
+		} catch (FileNotFoundException e) {
+			assertNotNull(e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that a version 1 catalog file is recognized but can't be opened.
+	 * 
+	 * @throws IOException if the file can't be written or read
+	 */
+	@Test
+	public void testVersion1() throws IOException {
+		MappedCatalog.write(file.getPath(), CourseRecordIO.readCourseRecords(validTestFile));
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		writeInt(raf, 4, 1);
+		raf.close();
+		assertTrue(MappedCatalog.isCatalogFile(file.getPath()));
+		try {
+			MappedCatalog.open(file.getPath());
+			fail();
+		} catch (IOException e) {
+			assertEquals("Invalid catalog file.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads an int from a file
+	 * 
+	 * @param file   the file
+	 * @param offset offset of the int
+	 * @return the int
+	 * @throws IOException if the file can't be read
+	 */
+	private int readInt(RandomAccessFile file, long offset) throws IOException {
+		file.seek(offset);
+		return file.readInt();
+	}
+
+	/**
+	 * Writes an int to a file
+	 * 
+	 * @param file   the file
+	 * @param offset offset of the int
+	 * @param value  the int
+	 * @throws IOException if the file can't be written
+	 */
+	private void writeInt(RandomAccessFile file, long offset, int value) throws IOException {
+		file.seek(offset);
+		file.writeInt(value);
+	}
+}
@@ -0,0 +1,172 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the CatalogAttributeIndex class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogAttributeIndexTest {
+
+	/** Instructors in the random catalog */
+	private static final String[] INSTRUCTORS = {"jtking", "sesmith5", "jep", "tmbarnes"};
+	/** Meeting days in the random catalog */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "A"};
+
+	/**
+	 * Builds a catalog of random sections
+	 * @return list of sections
+	 */
+	private List<Course> randomCatalog() {
+		Random random = new Random(116);
+		List<Course> catalog = new ArrayList<Course>();
+		for (int i = 0; i < 1000; i++) {
+			String name = "CSC" + (100 + i / 10);
+			String section = String.format("%03d", i % 10);
+			String instructor = INSTRUCTORS[random.nextInt(INSTRUCTORS.length)];
+			int credits = 1 + random.nextInt(5);
+			String meetingDays = DAYS[random.nextInt(DAYS.length)];
+			if (meetingDays.equals("A")) {
+				catalog.add(new Course(name, "Title", section, credits, instructor, "A"));
+			} else {
+				int start = 700 + random.nextInt(12) * 100 + random.nextInt(3) * 10;
+				catalog.add(new Course(name, "Title", section, credits, instructor, meetingDays, start, start + 30));
+			}
+		}
+		return catalog;
+	}
+
+	/**
+	 * Checks find() against filtering every section
+	 * @param catalog catalog that was indexed
+	 * @param index index of the catalog
+	 * @param instructorId instructor to find
+	 * @param meetingDays days to find
+	 * @param startFrom earliest start
+	 * @param startTo latest start
+	 * @param credits credits to find
+	 */
+	private void checkFind(List<Course> catalog, CatalogAttributeIndex index, String instructorId,
+			String meetingDays, int startFrom, int startTo, int credits) {
+		List<Course> expected = new ArrayList<Course>();
+		for (Course c : catalog) {
+			boolean match = instructorId == null || c.getInstructorId().equals(instructorId);
+			if (meetingDays != null) {
+				int mask = Activity.toDaysMask(meetingDays);
+				match = match && (mask == 0 ? c.getMeetingDaysMask() == 0 : (c.getMeetingDaysMask() & mask) == mask);
+			}
+			if (startFrom != CatalogAttributeIndex.ANY || startTo != CatalogAttributeIndex.ANY) {
+				int from = startFrom == CatalogAttributeIndex.ANY ? 0 : startFrom;
+				int to = startTo == CatalogAttributeIndex.ANY ? 2359 : startTo;
+				match = match && c.getMeetingDaysMask() != 0 && c.getStartTime() >= from && c.getStartTime() <= to;
+			}
+			match = match && (credits == CatalogAttributeIndex.ANY || c.getCredits() == credits);
+			if (match) {
+				expected.add(c);
+			}
+		}
+		assertEquals(expected, index.find(instructorId, meetingDays, startFrom, startTo, credits));
+	}
+
+	/**
+	 * Tests CatalogAttributeIndex.find().
+	 */
+	@Test
+	public void testFind() {
+		List<Course> catalog = randomCatalog();
+		CatalogAttributeIndex index = new CatalogAttributeIndex(catalog);
+		int any = CatalogAttributeIndex.ANY;
+
+		assertEquals(catalog, index.find(null, null, any, any, any));
+		checkFind(catalog, index, "jtking", "TH", 1200, any, 3);
+		checkFind(catalog, index, "jtking", null, any, any, any);
+		checkFind(catalog, index, null, "MWF", any, any, any);
+		checkFind(catalog, index, null, null, 915, 1330, any);
+		checkFind(catalog, index, null, null, any, 1015, 4);
+		checkFind(catalog, index, "sesmith5", "F", 1000, 1400, any);
+		checkFind(catalog, index, "nobody", null, any, any, any);
+		checkFind(catalog, index, null, null, any, any, 7);
+		checkFind(catalog, index, null, "A", any, any, any);
+		checkFind(catalog, index, "jep", "A", any, any, 2);
+		checkFind(catalog, index, null, "A", 900, any, any);
+	}
+
+	/**
+	 * Tests CatalogAttributeIndex.find() with meeting days that have no days.
+	 */
+	@Test
+	public void testFindInvalidDays() {
+		CatalogAttributeIndex index = new CatalogAttributeIndex(randomCatalog());
+		int any = CatalogAttributeIndex.ANY;
+		assertTrue(index.find(null, "A", any, any, any).size() > 0);
+		try {
+			index.find(null, "", any, any, any);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid meeting days.", e.getMessage());
+		}
+		try {
+			index.find(null, "XYZ", any, any, any);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid meeting days.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests CatalogAttributeIndex.find() with an invalid time.
+	 */
+	@Test
+	public void testFindInvalidTime() {
+		CatalogAttributeIndex index = new CatalogAttributeIndex(randomCatalog());
+		try {
+			index.find(null, null, 1260, CatalogAttributeIndex.ANY, CatalogAttributeIndex.ANY);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid time.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that the position getters return copies and handle values that
+	 * aren't in the index.
+	 */
+	@Test
+	public void testGetPositions() {
+		List<Course> catalog = randomCatalog();
+		CatalogAttributeIndex index = new CatalogAttributeIndex(catalog);
+		int any = CatalogAttributeIndex.ANY;
+
+		int[] taught = index.getInstructorPositions("jtking");
+		int[] friday = index.getDayPositions(Activity.FRIDAY);
+		int[] credits = index.getCreditsPositions(3);
+		assertTrue(taught.length > 0 && friday.length > 0 && credits.length > 0);
+		int[] expectedTaught = taught.clone();
+		int[] expectedFriday = friday.clone();
+		int[] expectedCredits = credits.clone();
+		taught[0] = -1;
+		friday[0] = -1;
+		credits[0] = -1;
+		assertArrayEquals(expectedTaught, index.getInstructorPositions("jtking"));
+		assertArrayEquals(expectedFriday, index.getDayPositions(Activity.FRIDAY));
+		assertArrayEquals(expectedCredits, index.getCreditsPositions(3));
+		checkFind(catalog, index, "jtking", "F", any, any, 3);
+
+		assertEquals(0, index.getInstructorPositions("nobody").length);
+		assertEquals(0, index.getDayPositions(0).length);
+		assertEquals(0, index.getDayPositions(1 << 7).length);
+		assertEquals(0, index.getDayPositions(Activity.MONDAY | Activity.FRIDAY).length);
+		assertEquals(0, index.getCreditsPositions(6).length);
+	}
+}
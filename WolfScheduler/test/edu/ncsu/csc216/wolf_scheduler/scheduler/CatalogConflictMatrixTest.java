@@ -0,0 +1,87 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the CatalogConflictMatrix class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogConflictMatrixTest {
+
+	/**
+	 * Builds a catalog of random sections
+	 * @param size number of sections
+	 * @return list of sections
+	 */
+	private List<Course> randomCatalog(int size) {
+		Random random = new Random(226);
+		String[] days = {"M", "TH", "MW", "MWF", "F", "A"};
+		List<Course> catalog = new ArrayList<Course>();
+		for (int i = 0; i < size; i++) {
+			String meetingDays = days[random.nextInt(days.length)];
+			if (meetingDays.equals("A")) {
+				catalog.add(new Course("CSC" + (100 + i / 10), "Title", String.format("%03d", i % 10), 3, "jep", "A"));
+			} else {
+				int start = 800 + random.nextInt(10) * 100 + random.nextInt(4) * 15;
+				int end = start + 50 + random.nextInt(2) * 25;
+				if (end % 100 > 59) {
+					end += 40;
+				}
+				catalog.add(new Course("CSC" + (100 + i / 10), "Title", String.format("%03d", i % 10), 3, "jep",
+						meetingDays, start, end));
+			}
+		}
+		return catalog;
+	}
+
+	/**
+	 * Tests that the matrix agrees with Activity.conflictsWith() for every pair.
+	 */
+	@Test
+	public void testConflicts() {
+		List<Course> catalog = randomCatalog(300);
+		CatalogConflictMatrix matrix = new CatalogConflictMatrix(catalog);
+		assertEquals(300, matrix.size());
+		for (int i = 0; i < catalog.size(); i++) {
+			assertEquals(i, matrix.ordinalOf(catalog.get(i)));
+			assertSame(catalog.get(i), matrix.getSection(i));
+			for (int j = 0; j < catalog.size(); j++) {
+				assertEquals(catalog.get(i).conflictsWith(catalog.get(j)), matrix.conflicts(i, j));
+			}
+		}
+		assertEquals(-1, matrix.ordinalOf(new Course("CSC999", "Title", "001", 3, "jep", "A")));
+	}
+
+	/**
+	 * Tests CatalogConflictMatrix.conflictsOf().
+	 */
+	@Test
+	public void testConflictsOf() {
+		List<Course> catalog = randomCatalog(150);
+		CatalogConflictMatrix matrix = new CatalogConflictMatrix(catalog);
+		List<Activity> schedule = new ArrayList<Activity>();
+		schedule.add(catalog.get(3));
+		schedule.add(catalog.get(77));
+		schedule.add(new Event("Exercise", "MTWHF", 800, 900, 1, ""));
+
+		long[] blocked = matrix.conflictsOf(schedule);
+		for (int i = 0; i < catalog.size(); i++) {
+			boolean expected = catalog.get(i).conflictsWith(catalog.get(3))
+					|| catalog.get(i).conflictsWith(catalog.get(77));
+			assertEquals(expected, CatalogConflictMatrix.isSet(blocked, i));
+		}
+		assertFalse(CatalogConflictMatrix.isSet(matrix.conflictsOf(new ArrayList<Activity>()), 3));
+	}
+}
@@ -0,0 +1,59 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the CatalogIndex class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogIndexTest {
+
+	/**
+	 * Tests CatalogIndex.indexOf() on a large catalog.
+	 */
+	@Test
+	public void testIndexOf() {
+		List<Course> catalog = new ArrayList<Course>();
+		for (int i = 0; i < 5000; i++) {
+			catalog.add(new Course("CSC" + (100 + i / 10), "Title", String.format("%03d", i % 10 * 7), 3, "jep", "A"));
+		}
+		CatalogIndex index = new CatalogIndex(catalog);
+		for (int i = 0; i < catalog.size(); i++) {
+			assertEquals(i, index.indexOf(catalog.get(i).getName(), catalog.get(i).getSection()));
+		}
+		assertEquals(-1, index.indexOf("CSC100", "001"));
+		assertEquals(-1, index.indexOf("CSC1000", "000"));
+		assertEquals(-1, index.indexOf("CSC100", "00"));
+		assertEquals(-1, index.indexOf("CSC100", "0a0"));
+		assertEquals(-1, index.indexOf(null, "000"));
+		assertEquals(-1, index.indexOf("CSC100", null));
+		assertEquals(-1, new CatalogIndex(new ArrayList<Course>()).indexOf("CSC100", "000"));
+	}
+
+	/**
+	 * Tests that the first of a repeated section is indexed and names that
+	 * can't be packed are still found.
+	 */
+	@Test
+	public void testIndexOfUnpacked() {
+		List<Course> catalog = new ArrayList<Course>();
+		catalog.add(new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "A"));
+		catalog.add(new Course("CSC216", "Programming Concepts - Java", "001", 4, "jtking", "A"));
+		catalog.add(new Course("\u00C9CO101", "\u00C9conomie", "001", 3, "jep", "A"));
+		catalog.add(new Course("\u00C9CO101", "\u00C9conomie", "002", 3, "jep", "A"));
+		CatalogIndex index = new CatalogIndex(catalog);
+		assertEquals(0, index.indexOf("CSC216", "001"));
+		assertEquals(2, index.indexOf("\u00C9CO101", "001"));
+		assertEquals(3, index.indexOf("\u00C9CO101", "002"));
+		assertEquals(-1, index.indexOf("\u00C9CO101", "003"));
+	}
+}
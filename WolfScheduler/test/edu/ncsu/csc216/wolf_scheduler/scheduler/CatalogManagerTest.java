@@ -0,0 +1,137 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Tests the CatalogManager class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogManagerTest {
+
+	/**
+	 * Tests loading catalogs on first use and evicting the least recently used.
+	 */
+	@Test
+	public void testGetCatalog() {
+		CatalogManager manager = new CatalogManager(2);
+		manager.addTerm("FA", "test-files/course_records.txt");
+		manager.addTerm("SP", "test-files/starter_course_records.txt");
+		manager.addTerm("SU", "test-files/invalid_course_records.txt");
+		assertEquals(Arrays.asList("FA", "SP", "SU"), manager.getTerms());
+		assertTrue(manager.getResidentTerms().isEmpty());
+
+		CourseCatalog fall = manager.getCatalog("FA");
+		assertEquals(8, fall.size());
+		assertSame(fall, manager.getCatalog("FA"));
+		CourseCatalog spring = manager.getCatalog("SP");
+		assertEquals(Arrays.asList("FA", "SP"), manager.getResidentTerms());
+
+		// Using fall again makes spring the least recently used
+		assertSame(fall, manager.getCatalog("FA"));
+		manager.getCatalog("SU");
+		assertEquals(Arrays.asList("FA", "SU"), manager.getResidentTerms());
+		assertFalse(manager.isResident("SP"));
+		// Spring is still in use, so it comes back instead of being loaded again
+		assertSame(spring, manager.getCatalog("SP"));
+		assertEquals(Arrays.asList("SU", "SP"), manager.getResidentTerms());
+		assertFalse(manager.isResident("FA"));
+		assertSame(fall, manager.getCatalog("FA"));
+
+		manager.addTerm("SP", "test-files/course_records.txt");
+		assertFalse(manager.isResident("SP"));
+		assertNotSame(spring, manager.getCatalog("SP"));
+		assertEquals(8, manager.getCatalog("SP").size());
+	}
+
+	/**
+	 * Tests that threads asking for a term at the same time share one load.
+	 * 
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testConcurrentGetCatalog() throws Exception {
+		final CatalogManager manager = new CatalogManager(1);
+		manager.addTerm("FA", "test-files/course_records.txt");
+		manager.addTerm("SP", "test-files/not_a_file.txt");
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<CourseCatalog>> results = new ArrayList<Future<CourseCatalog>>();
+			for (int i = 0; i < 32; i++) {
+				results.add(pool.submit(new Callable<CourseCatalog>() {
+					@Override
+					public CourseCatalog call() {
+						return manager.getCatalog("FA");
+					}
+				}));
+			}
+			CourseCatalog fall = results.get(0).get();
+			for (Future<CourseCatalog> result : results) {
+				assertSame(fall, result.get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		// A failed load isn't kept, so the next call tries again
+		for (int i = 0; i < 2; i++) {
+			try {
+				manager.getCatalog("SP");
+				fail();
+			} catch (IllegalArgumentException e) {
+				assertEquals("Cannot find file.", e.getMessage());
+			}
+		}
+		assertEquals(Arrays.asList("FA"), manager.getResidentTerms());
+	}
+
+	/**
+	 * Tests invalid terms and sizes.
+	 */
+	@Test
+	public void testInvalid() {
+		CatalogManager manager = new CatalogManager(1);
+		manager.addTerm("FA", "test-files/not_a_file.txt");
+		try {
+			manager.getCatalog("FA");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+		}
+		try {
+			manager.getCatalog("SP");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid term.", e.getMessage());
+		}
+		try {
+			manager.addTerm("", "test-files/course_records.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid term.", e.getMessage());
+		}
+		try {
+			manager.addTerm("SP", null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid file name.", e.getMessage());
+		}
+		try {
+			new CatalogManager(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid number of catalogs.", e.getMessage());
+		}
+	}
+}
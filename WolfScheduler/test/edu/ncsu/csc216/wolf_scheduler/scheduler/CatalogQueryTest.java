@@ -0,0 +1,170 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the CatalogQuery and CatalogBitsets classes.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogQueryTest {
+
+	/** Instructors in the random catalog */
+	private static final String[] INSTRUCTORS = {"jtking", "sesmith5", "jep", "tmbarnes"};
+	/** Meeting days in the random catalog */
+	private static final String[] DAYS = {"MW", "TH", "MWF", "F", "A"};
+
+	/** Random catalog */
+	private List<Course> catalog;
+	/** Bitsets of the random catalog */
+	private CatalogBitsets bitsets;
+
+	/**
+	 * Builds a catalog of random sections.
+	 */
+	@Before
+	public void setUp() {
+		Random random = new Random(216);
+		catalog = new ArrayList<Course>();
+		for (int i = 0; i < 700; i++) {
+			String name = (i % 3 == 0 ? "MA" : "CSC") + (100 + random.nextInt(300));
+			String section = String.format("%03d", i % 1000);
+			String instructor = INSTRUCTORS[random.nextInt(INSTRUCTORS.length)];
+			int credits = 1 + random.nextInt(5);
+			String meetingDays = DAYS[random.nextInt(DAYS.length)];
+			if (meetingDays.equals("A")) {
+				catalog.add(new Course(name, "Title", section, credits, instructor, "A"));
+			} else {
+				int start = 800 + random.nextInt(10) * 100 + random.nextInt(3) * 15;
+				catalog.add(new Course(name, "Title", section, credits, instructor, meetingDays, start, start + 115));
+			}
+		}
+		bitsets = new CatalogBitsets(catalog);
+	}
+
+	/**
+	 * Tests a query with every condition against filtering each section.
+	 */
+	@Test
+	public void testQuery() {
+		List<Activity> schedule = new ArrayList<Activity>();
+		schedule.add(new Event("Lunch", "TH", 1200, 1300, 1, ""));
+		schedule.add(catalog.get(1));
+		List<Course> results = new CatalogQuery(bitsets, schedule).namePrefix("CSC2").meetsOn("T")
+				.between(1030, 1645).fitsSchedule().results();
+
+		List<Course> expected = new ArrayList<Course>();
+		for (Course c : catalog) {
+			boolean match = c.getName().startsWith("CSC2") && (c.getMeetingDaysMask() & Activity.TUESDAY) != 0
+					&& c.getStartTime() >= 1030 && c.getEndTime() <= 1645;
+			for (Activity a : schedule) {
+				match = match && !a.conflictsWith(c);
+			}
+			if (match) {
+				expected.add(c);
+			}
+		}
+		assertFalse(expected.isEmpty());
+		assertTrue(expected.size() < new CatalogQuery(bitsets, schedule).namePrefix("CSC2").meetsOn("T")
+				.between(1030, 1645).count());
+		assertEquals(expected, results);
+		assertEquals(expected.size(), results.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i), results.get(i));
+		}
+	}
+
+	/**
+	 * Tests meetsOnlyOn(), arranged(), instructor(), and or().
+	 */
+	@Test
+	public void testOr() {
+		CatalogQuery query = new CatalogQuery(bitsets, null).meetsOnlyOn("MWF").instructor("jep");
+		query.or(new CatalogQuery(bitsets, null).arranged().credits(5));
+
+		List<Course> expected = new ArrayList<Course>();
+		for (Course c : catalog) {
+			int mask = c.getMeetingDaysMask();
+			boolean onlyMwf = mask != 0 && (mask & ~(Activity.MONDAY | Activity.WEDNESDAY | Activity.FRIDAY)) == 0;
+			if ((onlyMwf && c.getInstructorId().equals("jep")) || (mask == 0 && c.getCredits() == 5)) {
+				expected.add(c);
+			}
+		}
+		assertEquals(expected, query.results());
+		assertEquals(expected.size(), query.count());
+
+		try {
+			query.or(new CatalogQuery(new CatalogBitsets(catalog), null));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid query.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that the results are a read-only view that later conditions don't change.
+	 */
+	@Test
+	public void testResults() {
+		CatalogQuery query = new CatalogQuery(bitsets, null);
+		List<Course> all = query.results();
+		assertEquals(catalog, all);
+		query.credits(0);
+		assertEquals(0, query.results().size());
+		assertEquals(catalog.size(), all.size());
+
+		Iterator<Course> it = query.results().iterator();
+		assertFalse(it.hasNext());
+		try {
+			all.remove(0);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			assertEquals(catalog.size(), all.size());
+		}
+		try {
+			all.get(catalog.size());
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals(catalog.size(), all.size());
+		}
+	}
+
+	/**
+	 * Tests a query with an invalid time.
+	 */
+	@Test
+	public void testInvalidTime() {
+		try {
+			new CatalogQuery(bitsets, null).between(900, 2400);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid time.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests a query with a null name prefix.
+	 */
+	@Test
+	public void testNullPrefix() {
+		try {
+			new CatalogQuery(bitsets, null).namePrefix(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid name prefix.", e.getMessage());
+		}
+	}
+}
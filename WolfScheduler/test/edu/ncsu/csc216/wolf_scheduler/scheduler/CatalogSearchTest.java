@@ -0,0 +1,135 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the CatalogSearch class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogSearchTest {
+
+	/** Catalog being searched */
+	private List<Course> catalog;
+	/** Search over the catalog */
+	private CatalogSearch search;
+
+	/**
+	 * Builds a small catalog and its search.
+	 */
+	@Before
+	public void setUp() {
+		catalog = new ArrayList<Course>();
+		catalog.add(new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100));
+		catalog.add(new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "TH", 1330, 1445));
+		catalog.add(new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025));
+		catalog.add(new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", "MW", 1145, 1300));
+		catalog.add(new Course("MA241", "Calculus II", "001", 4, "jep", "A"));
+		search = new CatalogSearch(catalog);
+	}
+
+	/**
+	 * Tests CatalogSearch.findByNamePrefix().
+	 */
+	@Test
+	public void testFindByNamePrefix() {
+		assertEquals(catalog.subList(1, 4), search.findByNamePrefix("CSC2"));
+		assertEquals(catalog.subList(1, 4), search.findByNamePrefix("csc2"));
+		assertEquals(catalog.subList(0, 1), search.findByNamePrefix("CSC116"));
+		assertEquals(catalog, search.findByNamePrefix(""));
+		assertTrue(search.findByNamePrefix("CSC1160").isEmpty());
+		assertTrue(search.findByNamePrefix("E").isEmpty());
+		assertTrue(search.findByNamePrefix(null).isEmpty());
+	}
+
+	/**
+	 * Tests CatalogSearch.findByTitle().
+	 */
+	@Test
+	public void testFindByTitle() {
+		assertEquals(catalog.subList(0, 2), search.findByTitle("Java"));
+		assertEquals(catalog.subList(2, 3), search.findByTitle("discrete MATHEMATICS"));
+		assertEquals(catalog.subList(2, 3), search.findByTitle("Discrete Math"));
+		assertEquals(catalog.subList(0, 2), search.findByTitle("program"));
+		assertEquals(catalog.subList(1, 2), search.findByTitle("concepts - java"));
+		assertTrue(search.findByTitle("Math Discrete").isEmpty());
+		assertTrue(search.findByTitle("Python").isEmpty());
+		assertTrue(search.findByTitle("  ").isEmpty());
+	}
+
+	/**
+	 * Tests CatalogSearch.search().
+	 */
+	@Test
+	public void testSearch() {
+		List<Course> expected = new ArrayList<Course>();
+		expected.add(catalog.get(2));
+		expected.add(catalog.get(4));
+		assertEquals(expected, search.search("ma"));
+		assertEquals(catalog, search.search("c"));
+		assertEquals(catalog.subList(1, 4), search.search("CSC 2"));
+		assertEquals(catalog.subList(2, 3), search.search("discrete"));
+		assertEquals(catalog, search.search(""));
+	}
+
+	/**
+	 * Tests CatalogSearch.findByTitle() with short prefixes that match many words,
+	 * against checking every title.
+	 */
+	@Test
+	public void testFindByTitleShortPrefix() {
+		Random random = new Random(216);
+		String[] words = {"computer", "concepts", "calculus", "chemistry", "intro", "in", "software", "systems"};
+		List<Course> big = new ArrayList<Course>();
+		for (int i = 0; i < 2000; i++) {
+			String title = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + i;
+			big.add(new Course("CSC" + (100 + i / 10), title, String.format("%03d", i % 10), 3, "jep", "A"));
+		}
+		CatalogSearch bigSearch = new CatalogSearch(big);
+		for (String prefix : new String[] {"c", "co", "in", "s", "1", "z"}) {
+			List<Course> expected = new ArrayList<Course>();
+			for (Course c : big) {
+				for (String word : c.getTitle().split(" ")) {
+					if (word.startsWith(prefix)) {
+						expected.add(c);
+						break;
+					}
+				}
+			}
+			assertEquals(prefix, expected, bigSearch.findByTitle(prefix));
+		}
+	}
+
+	/**
+	 * Tests that matching ignores case the same way under a Turkish default
+	 * locale, where "I" doesn't lower case to "i".
+	 */
+	@Test
+	public void testTurkishLocale() {
+		Locale locale = Locale.getDefault();
+		try {
+			Locale.setDefault(new Locale("tr", "TR"));
+			CatalogSearch turkish = new CatalogSearch(catalog);
+			assertEquals(catalog.subList(0, 1), turkish.findByTitle("INTRO"));
+			assertEquals(catalog.subList(0, 1), turkish.findByTitle("intro"));
+			assertEquals(catalog.subList(4, 5), turkish.findByTitle("calculus II"));
+			assertEquals(catalog.subList(1, 4), turkish.findByNamePrefix("csc2"));
+			List<Course> named = new ArrayList<Course>();
+			named.add(new Course("MAI241", "Calculus II", "001", 4, "jep", "A"));
+			assertEquals(named, new CatalogSearch(named).findByNamePrefix("mai"));
+		} finally {
+			Locale.setDefault(locale);
+		}
+	}
+}
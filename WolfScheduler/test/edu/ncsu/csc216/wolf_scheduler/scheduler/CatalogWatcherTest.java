@@ -0,0 +1,302 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the CatalogWatcher and CatalogDiff classes.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CatalogWatcherTest {
+
+	/** Intro course record */
+	private static final String CSC116 = "CSC116,Intro to Programming - Java,001,3,jdyoung2,MW,0910,1100";
+	/** Programming concepts course record */
+	private static final String CSC216 = "CSC216,Programming Concepts - Java,001,4,sesmith5,TH,1330,1445";
+	/** Discrete math course record */
+	private static final String CSC226 = "CSC226,Discrete Mathematics for Computer Scientists,001,3,tmbarnes,MWF,935,1025";
+	/** C course record */
+	private static final String CSC230 = "CSC230,C and Software Tools,001,3,dbsturgi,MW,1145,1300";
+
+	/** Temporary course records file */
+	private File file;
+
+	/**
+	 * Creates a temporary course records file for each test.
+	 * 
+	 * @throws IOException if the file can't be created
+	 */
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("catalog", ".txt");
+		file.deleteOnExit();
+		write(CSC116, CSC216, CSC226);
+	}
+
+	/**
+	 * Replaces the contents of the file
+	 * 
+	 * @param lines lines to write
+	 * @throws IOException if the file can't be written
+	 */
+	private void write(String... lines) throws IOException {
+		PrintStream out = new PrintStream(file);
+		for (String line : lines) {
+			out.println(line);
+		}
+		out.close();
+	}
+
+	/**
+	 * Tests CatalogWatcher.reload().
+	 * 
+	 * @throws IOException if the file can't be written
+	 */
+	@Test
+	public void testReload() throws IOException {
+		CatalogWatcher watcher = new CatalogWatcher(file.getPath());
+		CourseCatalog first = watcher.getCatalog();
+		assertEquals(3, first.size());
+		Course intro = first.getCourse("CSC116", "001");
+
+		CatalogDiff diff = watcher.reload();
+		assertTrue(diff.isEmpty());
+		assertSame(first, diff.getCatalog());
+		assertSame(first, diff.getPrevious());
+
+		write(CSC116.replace("0910,1100", "0800,0850"), "invalid line", CSC226, CSC230, CSC226.replace("935", "1500"));
+		diff = watcher.reload();
+		assertFalse(diff.isEmpty());
+		assertSame(first, diff.getPrevious());
+		assertSame(diff.getCatalog(), watcher.getCatalog());
+		assertEquals(3, diff.getCatalog().size());
+		assertEquals(1, diff.getAdded().size());
+		assertEquals("CSC230", diff.getAdded().get(0).getName());
+		assertEquals(1, diff.getRemoved().size());
+		assertEquals("CSC216", diff.getRemoved().get(0).getName());
+		assertEquals(1, diff.getChanged().size());
+		assertEquals(800, diff.getChanged().get(0).getStartTime());
+		assertTrue(diff.affects(intro));
+		assertFalse(diff.affects(first.getCourse("CSC226", "001")));
+		assertSame(first.getCourse("CSC226", "001"), diff.getCatalog().getCourse("CSC226", "001"));
+
+		try {
+			new CatalogWatcher("test-files/not_a_file.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that CatalogWatcher.reload() leaves the catalog alone when the file
+	 * can't be read.
+	 * 
+	 * @throws IOException if the file can't be written
+	 */
+	@Test
+	public void testReloadFailure() throws IOException {
+		CatalogWatcher watcher = new CatalogWatcher(file.getPath());
+		CourseCatalog first = watcher.getCatalog();
+		assertTrue(file.delete());
+		try {
+			watcher.reload();
+			fail();
+		} catch (FileNotFoundException e) {
+			assertSame(first, watcher.getCatalog());
+		}
+
+		write(CSC116, CSC216, CSC226, CSC230);
+		CatalogDiff diff = watcher.reload();
+		assertSame(first, diff.getPrevious());
+		assertEquals(1, diff.getAdded().size());
+		assertTrue(diff.getRemoved().isEmpty());
+		assertSame(first.getCourse("CSC116", "001"), diff.getCatalog().getCourse("CSC116", "001"));
+	}
+
+	/**
+	 * Tests WolfScheduler.updateCatalog() keeping and dropping scheduled courses.
+	 * 
+	 * @throws IOException if the file can't be written
+	 */
+	@Test
+	public void testUpdateCatalog() throws IOException {
+		CatalogWatcher watcher = new CatalogWatcher(file.getPath());
+		WolfScheduler ws = new WolfScheduler(watcher.getCatalog());
+		ws.addEvent("Lunch", "TH", 1200, 1300, 1, "");
+		assertTrue(ws.addCourse("CSC116", "001"));
+		assertTrue(ws.addCourse("CSC216", "001"));
+		ws.setTitle("Spring");
+
+		// CSC116 moves, CSC216 moves onto lunch, CSC226 is unchanged
+		write(CSC116.replace("MW,0910,1100", "TH,0800,0850"), CSC216.replace("1330,1445", "1230,1345"), CSC226);
+		List<Activity> dropped = ws.updateCatalog(watcher.reload());
+		assertEquals(1, dropped.size());
+		assertEquals("CSC216", ((Course) dropped.get(0)).getName());
+		assertEquals("Spring", ws.getTitle());
+		String[][] schedule = ws.getScheduledActivities();
+		assertEquals(2, schedule.length);
+		assertEquals("Lunch", schedule[0][2]);
+		assertEquals("CSC116", schedule[1][0]);
+		assertEquals("TH 8:00AM-8:50AM", schedule[1][3]);
+		assertSame(watcher.getCatalog(), ws.getCatalog());
+		assertTrue(ws.addCourse("CSC226", "001"));
+
+		write(CSC226);
+		CatalogDiff diff = watcher.reload();
+		dropped = ws.updateCatalog(diff);
+		assertEquals(1, dropped.size());
+		assertEquals("CSC116", ((Course) dropped.get(0)).getName());
+		assertEquals(2, ws.getScheduledActivities().length);
+
+		// A diff from another version of the catalog is rejected
+		try {
+			ws.updateCatalog(diff);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Catalog changes are not for this catalog.", e.getMessage());
+		}
+		WolfScheduler other = new WolfScheduler(CourseCatalog.load(file.getPath()));
+		assertTrue(other.addCourse("CSC226", "001"));
+		write();
+		try {
+			other.updateCatalog(watcher.reload());
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(1, other.getScheduledActivities().length);
+		}
+	}
+
+	/**
+	 * Tests that CatalogWatcher.start() reports changes to the file.
+	 * 
+	 * @throws Exception if the file can't be written or the wait is interrupted
+	 */
+	@Test
+	public void testStart() throws Exception {
+		CatalogWatcher watcher = new CatalogWatcher(file.getPath());
+		final BlockingQueue<CatalogDiff> diffs = new ArrayBlockingQueue<CatalogDiff>(16);
+		watcher.start(new CatalogWatcher.Listener() {
+			@Override
+			public void catalogChanged(CatalogDiff diff) {
+				diffs.add(diff);
+			}
+		});
+		try {
+			watcher.start(null);
+			fail();
+		} catch (IllegalStateException e) {
+			assertEquals("Watcher already started.", e.getMessage());
+		}
+		try {
+			write(CSC116, CSC216, CSC226, CSC230);
+			CatalogDiff diff = diffs.poll(30, TimeUnit.SECONDS);
+			assertNotNull(diff);
+			assertEquals(4, diff.getCatalog().size());
+			assertSame(diff.getCatalog(), watcher.getCatalog());
+		} finally {
+			watcher.close();
+		}
+	}
+
+	/**
+	 * Tests that CatalogWatcher.start() reports an exception from the listener and
+	 * keeps watching.
+	 * 
+	 * @throws Exception if the file can't be written or the wait is interrupted
+	 */
+	@Test
+	public void testStartListenerFails() throws Exception {
+		CatalogWatcher watcher = new CatalogWatcher(file.getPath());
+		final BlockingQueue<CatalogDiff> diffs = new ArrayBlockingQueue<CatalogDiff>(16);
+		final BlockingQueue<Throwable> errors = new ArrayBlockingQueue<Throwable>(16);
+		Thread.UncaughtExceptionHandler handler = Thread.getDefaultUncaughtExceptionHandler();
+		Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			@Override
+			public void uncaughtException(Thread t, Throwable e) {
+				errors.add(e);
+			}
+		});
+		watcher.start(new CatalogWatcher.Listener() {
+			@Override
+			public void catalogChanged(CatalogDiff diff) {
+				if (diff.getCatalog().size() == 4) {
+					throw new IllegalStateException("Listener failed.");
+				}
+				diffs.add(diff);
+			}
+		});
+		try {
+			write(CSC116, CSC216, CSC226, CSC230);
+			Throwable error = errors.poll(30, TimeUnit.SECONDS);
+			assertNotNull(error);
+			assertEquals("Listener failed.", error.getMessage());
+			assertEquals(4, watcher.getCatalog().size());
+
+			diffs.clear();
+			write(CSC116, CSC216);
+			CatalogDiff diff = diffs.poll(30, TimeUnit.SECONDS);
+			assertNotNull(diff);
+			assertEquals(2, diff.getCatalog().size());
+		} finally {
+			watcher.close();
+			Thread.setDefaultUncaughtExceptionHandler(handler);
+		}
+	}
+
+	/**
+	 * Tests that CatalogWatcher.start() waits for a file being written slowly to
+	 * stop changing, so no section is reported removed part way through.
+	 * 
+	 * @throws Exception if the file can't be written or the wait is interrupted
+	 */
+	@Test
+	public void testStartSlowWriter() throws Exception {
+		CatalogWatcher watcher = new CatalogWatcher(file.getPath());
+		final BlockingQueue<CatalogDiff> diffs = new ArrayBlockingQueue<CatalogDiff>(16);
+		try {
+			watcher.start(null, -1);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid quiet period.", e.getMessage());
+		}
+		watcher.start(new CatalogWatcher.Listener() {
+			@Override
+			public void catalogChanged(CatalogDiff diff) {
+				diffs.add(diff);
+			}
+		}, 1000);
+		try {
+			PrintStream out = new PrintStream(file);
+			for (String line : new String[] {CSC116, CSC216, CSC226, CSC230}) {
+				out.println(line);
+				out.flush();
+				Thread.sleep(100);
+			}
+			out.close();
+			CatalogDiff diff = diffs.poll(30, TimeUnit.SECONDS);
+			assertNotNull(diff);
+			assertTrue(diff.getRemoved().isEmpty());
+			assertEquals(4, diff.getCatalog().size());
+			assertNull(diffs.poll(2, TimeUnit.SECONDS));
+		} finally {
+			watcher.close();
+		}
+	}
+}
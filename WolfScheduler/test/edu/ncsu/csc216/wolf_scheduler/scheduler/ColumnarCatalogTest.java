@@ -0,0 +1,119 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictPair;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictSweep;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the ColumnarCatalog class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class ColumnarCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/**
+	 * Tests that ColumnarCatalog.load() reads the same sections as CourseCatalog.load().
+	 */
+	@Test
+	public void testLoad() {
+		CourseCatalog expected = CourseCatalog.load(validTestFile);
+		ColumnarCatalog columns = ColumnarCatalog.load(validTestFile);
+		assertEquals(expected.size(), columns.size());
+		for (int i = 0; i < columns.size(); i++) {
+			Course course = expected.getCourses().get(i);
+			assertEquals(course, columns.getCourse(i));
+			assertEquals(course.getName(), columns.getName(i));
+			assertEquals(course.getSection(), columns.getSection(i));
+			assertEquals(course.getMeetingDaysMask(), columns.getMeetingDaysMask(i));
+			assertEquals(course.getStartMinute(), columns.getStartMinute(i));
+			assertEquals(course.getEndMinute(), columns.getEndMinute(i));
+		}
+
+		try {
+			ColumnarCatalog.load("test-files/not_a_file.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+		}
+		try {
+			columns.getName(columns.size());
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			assertEquals("Invalid row.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that meeting days out of the standard order are kept.
+	 */
+	@Test
+	public void testUnusualDays() {
+		List<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "HT", 1330, 1445));
+		courses.add(new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A"));
+		ColumnarCatalog columns = new ColumnarCatalog(courses);
+		assertEquals("HT", columns.getMeetingDays(0));
+		assertEquals("A", columns.getMeetingDays(1));
+		assertEquals(courses.get(0), columns.getCourse(0));
+		assertEquals(courses.get(1), columns.getCourse(1));
+		assertEquals(8, columns.getTotalCredits());
+		assertArrayEquals(new int[] {0, 1, 0, 1, 0, 0, 0}, columns.getSectionsPerDay());
+	}
+
+	/**
+	 * Tests that filter() matches CatalogAttributeIndex.
+	 */
+	@Test
+	public void testFilter() {
+		CourseCatalog catalog = CourseCatalog.load(validTestFile);
+		ColumnarCatalog columns = new ColumnarCatalog(catalog.getCourses());
+		CatalogAttributeIndex index = catalog.getAttributeIndex();
+		int any = ColumnarCatalog.ANY;
+
+		assertArrayEquals(index.findPositions("jtking", null, any, any, any), columns.filter("jtking", null, any, any, any));
+		assertArrayEquals(index.findPositions(null, "MW", 1100, any, 3), columns.filter(null, "MW", 1100, any, 3));
+		assertArrayEquals(index.findPositions(null, null, 900, 1130, any), columns.filter(null, null, 900, 1130, any));
+		assertArrayEquals(index.findPositions(null, null, any, any, any), columns.filter(null, null, any, any, any));
+		assertEquals(0, columns.filter("nobody", null, any, any, any).length);
+		assertArrayEquals(index.findPositions(null, "A", any, any, any), columns.filter(null, "A", any, any, any));
+		assertTrue(columns.filter(null, "A", any, any, any).length > 0);
+		try {
+			columns.filter(null, "", any, any, any);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid meeting days.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that findConflicts() finds the same pairs as ConflictSweep over Course objects.
+	 */
+	@Test
+	public void testFindConflicts() {
+		CourseCatalog catalog = CourseCatalog.load(validTestFile);
+		ColumnarCatalog columns = new ColumnarCatalog(catalog.getCourses());
+		List<ConflictPair> expected = ConflictSweep.findConflicts(catalog.getCourses());
+		long[] pairs = columns.findConflicts();
+		assertEquals(expected.size(), pairs.length);
+		Arrays.sort(pairs);
+		List<String> actual = new ArrayList<String>();
+		for (long pair : pairs) {
+			actual.add(columns.getCourse(ConflictSweep.first(pair)) + "|" + columns.getCourse(ConflictSweep.second(pair)));
+		}
+		for (ConflictPair pair : expected) {
+			assertTrue(actual.contains(pair.getFirst() + "|" + pair.getSecond()));
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the CourseCatalog class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class CourseCatalogTest {
+
+	/** Valid course records */
+	private final String validTestFile = "test-files/course_records.txt";
+
+	/**
+	 * Tests CourseCatalog.load().
+	 */
+	@Test
+	public void testLoad() {
+		CourseCatalog catalog = CourseCatalog.load(validTestFile);
+		assertEquals(8, catalog.size());
+		assertEquals("CSC116", catalog.getCourses().get(0).getName());
+		assertEquals("jep", catalog.getCourse("CSC216", "601").getInstructorId());
+		assertNull(catalog.getCourse("CSC216", "999"));
+
+		try {
+			CourseCatalog.load("test-files/not_a_file.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that the catalog can't be changed after it is constructed.
+	 */
+	@Test
+	public void testImmutable() {
+		List<Course> courses = new ArrayList<Course>();
+		courses.add(new Course("CSC216", "Programming Concepts - Java", "001", 4, "sesmith5", "TH", 1330, 1445));
+		CourseCatalog catalog = new CourseCatalog(courses);
+		courses.clear();
+		assertEquals(1, catalog.size());
+		try {
+			catalog.getCourses().clear();
+			fail();
+		} catch (UnsupportedOperationException e) {
+			assertEquals(1, catalog.size());
+		}
+
+		try {
+			new CourseCatalog(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Tests that indexes requested from many threads at once are built only once.
+	 *
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testSharedIndexes() throws Exception {
+		final CourseCatalog catalog = CourseCatalog.load(validTestFile);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Object[]>> results = new ArrayList<Future<Object[]>>();
+			for (int i = 0; i < 16; i++) {
+				results.add(pool.submit(new Callable<Object[]>() {
+					@Override
+					public Object[] call() {
+						return new Object[] {catalog.getAttributeIndex(), catalog.getSearch(), catalog.getBitsets(),
+							catalog.getConflictMatrix()};
+					}
+				}));
+			}
+			Object[] first = results.get(0).get();
+			for (Future<Object[]> result : results) {
+				assertArrayEquals(first, result.get());
+			}
+		} finally {
+			pool.shutdown();
+		}
+		assertSame(catalog.getSearch(), catalog.getSearch());
+	}
+}
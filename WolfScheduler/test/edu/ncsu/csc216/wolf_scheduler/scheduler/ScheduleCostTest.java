@@ -0,0 +1,73 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the ScheduleCost class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class ScheduleCostTest {
+
+	/**
+	 * Tests each penalty and the total cost.
+	 */
+	@Test
+	public void testGetCost() {
+		ScheduleCost cost = new ScheduleCost(1, 2, 930, 10, 100);
+		assertEquals(930, cost.getEarlyStart());
+
+		Activity csc116 = new Course("CSC116", "Intro to Programming - Java", "001", 3, "jdyoung2", "MW", 910, 1100);
+		Activity csc230 = new Course("CSC230", "C and Software Tools", "001", 3, "dbsturgi", "MW", 1145, 1300);
+		Activity lunch = new Event("Lunch", "F", 1200, 1300, 1, "");
+		Activity online = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+
+		//20 minutes early on two days
+		assertEquals(80, cost.getEarlyPenalty(csc116));
+		assertEquals(0, cost.getEarlyPenalty(csc230));
+		assertEquals(0, cost.getEarlyPenalty(online));
+
+		assertEquals(0, cost.getDaysPenalty(0));
+		assertEquals(20, cost.getDaysPenalty(Activity.MONDAY | Activity.WEDNESDAY));
+		assertEquals(130, cost.getDaysPenalty(Activity.MONDAY | Activity.WEDNESDAY | Activity.FRIDAY));
+
+		List<Activity> schedule = new ArrayList<Activity>();
+		schedule.add(csc230);
+		schedule.add(lunch);
+		schedule.add(csc116);
+		schedule.add(online);
+		//45 minute gap on M and W
+		assertEquals(90, cost.getGapPenalty(schedule));
+		assertEquals(90 + 80 + 130, cost.getCost(schedule));
+		assertEquals(0, cost.getCost(new ArrayList<Activity>()));
+	}
+
+	/**
+	 * Tests invalid weights and early start times.
+	 */
+	@Test
+	public void testInvalidScheduleCost() {
+		try {
+			new ScheduleCost(-1, 0, 900, 0, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid weight.", e.getMessage());
+		}
+		try {
+			new ScheduleCost(0, 0, 960, 0, 0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid early start time.", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the ScheduleGenerator class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class ScheduleGeneratorTest {
+
+	/** Names of the courses in the random catalog */
+	private static final String[] NAMES = {"CSC116", "CSC216", "CSC226", "MA305", "PY208"};
+
+	/**
+	 * Builds a catalog with several random sections of each course
+	 * @return list of sections
+	 */
+	private List<Course> randomCatalog() {
+		Random random = new Random(305);
+		String[] days = {"MW", "TH", "MWF", "F", "A"};
+		List<Course> catalog = new ArrayList<Course>();
+		for (String name : NAMES) {
+			for (int i = 1; i <= 6; i++) {
+				String meetingDays = days[random.nextInt(days.length)];
+				String section = "00" + i;
+				if (meetingDays.equals("A")) {
+					catalog.add(new Course(name, "Title", section, 3, "jep", "A"));
+				} else {
+					int start = 800 + random.nextInt(8) * 100;
+					catalog.add(new Course(name, "Title", section, 3, "jep", meetingDays, start, start + 115));
+				}
+			}
+		}
+		return catalog;
+	}
+
+	/**
+	 * Finds every conflict-free schedule by checking every combination
+	 * @param catalog catalog to choose from
+	 * @param names requested course names
+	 * @return set of schedules
+	 */
+	private Set<List<Course>> bruteForce(List<Course> catalog, List<String> names) {
+		List<List<Course>> partial = new ArrayList<List<Course>>();
+		partial.add(new ArrayList<Course>());
+		for (String name : names) {
+			List<List<Course>> next = new ArrayList<List<Course>>();
+			for (List<Course> schedule : partial) {
+				for (Course c : catalog) {
+					if (c.getName().equals(name)) {
+						List<Course> extended = new ArrayList<Course>(schedule);
+						extended.add(c);
+						next.add(extended);
+					}
+				}
+			}
+			partial = next;
+		}
+		Set<List<Course>> valid = new HashSet<List<Course>>();
+		for (List<Course> schedule : partial) {
+			boolean ok = true;
+			for (int i = 0; i < schedule.size(); i++) {
+				for (int j = i + 1; j < schedule.size(); j++) {
+					ok = ok && !schedule.get(i).conflictsWith(schedule.get(j));
+				}
+			}
+			if (ok) {
+				valid.add(schedule);
+			}
+		}
+		return valid;
+	}
+
+	/**
+	 * Tests that sequential and parallel generation find exactly the
+	 * conflict-free combinations.
+	 */
+	@Test
+	public void testStream() {
+		List<Course> catalog = randomCatalog();
+		List<String> names = Arrays.asList("MA305", "CSC116", "PY208", "CSC226");
+		Set<List<Course>> expected = bruteForce(catalog, names);
+		assertFalse(expected.isEmpty());
+
+		List<List<Course>> sequential = new ScheduleGenerator(catalog, names).stream().collect(Collectors.toList());
+		assertEquals(expected.size(), sequential.size());
+		assertEquals(expected, new HashSet<List<Course>>(sequential));
+
+		List<List<Course>> parallel = new ScheduleGenerator(catalog, names).stream().parallel()
+				.collect(Collectors.toList());
+		assertEquals(expected.size(), parallel.size());
+		assertEquals(expected, new HashSet<List<Course>>(parallel));
+	}
+
+	/**
+	 * Tests requests with no courses, an unknown course and a repeated course.
+	 */
+	@Test
+	public void testEdgeCases() {
+		List<Course> catalog = randomCatalog();
+		List<List<Course>> none = new ScheduleGenerator(catalog, new ArrayList<String>()).stream()
+				.collect(Collectors.toList());
+		assertEquals(1, none.size());
+		assertTrue(none.get(0).isEmpty());
+
+		assertEquals(0, new ScheduleGenerator(catalog, Arrays.asList("CSC116", "CSC492")).stream().count());
+
+		try {
+			new ScheduleGenerator(catalog, Arrays.asList("CSC116", "CSC116"));
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Course CSC116 was requested more than once.", e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests the ScheduleIndex class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class ScheduleIndexTest {
+
+	/** Course that meets MW 1:30PM-2:45PM */
+	private final Activity csc216 = new Course("CSC216", "Programming Concepts - Java", "002", 4, "jtking", "MW", 1330, 1445);
+	/** Course that meets MWF 9:35AM-10:25AM */
+	private final Activity csc226 = new Course("CSC226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025);
+	/** Arranged course */
+	private final Activity arranged = new Course("CSC216", "Programming Concepts - Java", "601", 4, "jep", "A");
+
+	/**
+	 * Tests ScheduleIndex.conflictsWith().
+	 */
+	@Test
+	public void testConflictsWith() {
+		ScheduleIndex index = new ScheduleIndex();
+		assertFalse(index.conflictsWith(csc216));
+		index.add(csc216);
+		index.add(csc226);
+
+		//Overlaps the end of CSC216 on Monday only
+		assertTrue(index.conflictsWith(new Event("Meeting", "M", 1445, 1500, 1, "")));
+		//Overlaps the start of CSC226 on Friday only
+		assertTrue(index.conflictsWith(new Event("Meeting", "F", 900, 935, 1, "")));
+		//Contains CSC216 entirely
+		assertTrue(index.conflictsWith(new Event("Meeting", "W", 1200, 1600, 1, "")));
+		//Between the two courses and on days they don't meet
+		assertFalse(index.conflictsWith(new Event("Meeting", "MWF", 1030, 1325, 1, "")));
+		assertFalse(index.conflictsWith(new Event("Meeting", "THSU", 900, 1500, 1, "")));
+		//Arranged courses never conflict
+		assertFalse(index.conflictsWith(arranged));
+	}
+
+	/**
+	 * Tests ScheduleIndex.isDuplicate().
+	 */
+	@Test
+	public void testIsDuplicate() {
+		ScheduleIndex index = new ScheduleIndex();
+		index.add(csc226);
+		index.add(new Event("Exercise", "MTWHF", 800, 900, 1, "Cardio Time!"));
+
+		assertFalse(index.isDuplicate(csc216));
+		assertFalse(index.isDuplicate(arranged));
+		index.add(arranged);
+		assertTrue(index.isDuplicate(csc216));
+		assertTrue(index.isDuplicate(new Event("Exercise", "S", 1200, 1300, 1, "")));
+		assertFalse(index.isDuplicate(new Event("CSC226", "S", 1200, 1300, 1, "")));
+	}
+
+	/**
+	 * Tests ScheduleIndex.remove() and ScheduleIndex.clear().
+	 */
+	@Test
+	public void testRemoveAndClear() {
+		ScheduleIndex index = new ScheduleIndex();
+		Activity meeting = new Event("Meeting", "M", 1400, 1500, 1, "");
+		index.add(csc216);
+		index.add(csc226);
+		assertTrue(index.conflictsWith(meeting));
+		assertTrue(index.isDuplicate(csc216));
+
+		index.remove(csc216);
+		assertFalse(index.conflictsWith(meeting));
+		assertFalse(index.isDuplicate(csc216));
+		assertTrue(index.isDuplicate(csc226));
+
+		index.clear();
+		assertFalse(index.isDuplicate(csc226));
+		assertFalse(index.conflictsWith(csc226));
+	}
+}
@@ -0,0 +1,100 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests the ScheduleOptimizer class.
+ *
+ * @author Anisha Ponnapati
+ *
+ */
+public class ScheduleOptimizerTest {
+
+	/**
+	 * Builds a catalog with many random sections of each course
+	 * @return list of sections
+	 */
+	private List<Course> randomCatalog() {
+		Random random = new Random(216);
+		String[] names = {"CSC116", "CSC216", "CSC226", "MA305", "PY208", "ENG331"};
+		String[] days = {"MW", "TH", "MWF", "F", "MTWHF", "A"};
+		List<Course> catalog = new ArrayList<Course>();
+		for (String name : names) {
+			for (int i = 1; i <= 8; i++) {
+				String meetingDays = days[random.nextInt(days.length)];
+				String section = "00" + i;
+				if (meetingDays.equals("A")) {
+					catalog.add(new Course(name, "Title", section, 3, "jep", "A"));
+				} else {
+					int start = 700 + random.nextInt(10) * 100;
+					catalog.add(new Course(name, "Title", section, 3, "jep", meetingDays, start, start + 50));
+				}
+			}
+		}
+		return catalog;
+	}
+
+	/**
+	 * Tests that the best schedules have the lowest costs of every
+	 * conflict-free schedule.
+	 */
+	@Test
+	public void testFindBest() {
+		List<Course> catalog = randomCatalog();
+		List<String> names = Arrays.asList("CSC116", "CSC216", "CSC226", "MA305", "PY208");
+		ScheduleCost cost = new ScheduleCost(1, 3, 900, 30, 200);
+
+		List<Long> allCosts = new ScheduleGenerator(catalog, names).stream().map(s -> cost.getCost(s))
+				.collect(Collectors.toList());
+		Collections.sort(allCosts);
+		assertTrue(allCosts.size() > 10);
+
+		List<List<Course>> best = new ScheduleOptimizer(catalog, names, cost).findBest(10);
+		assertEquals(10, best.size());
+		for (int i = 0; i < best.size(); i++) {
+			assertEquals(allCosts.get(i).longValue(), cost.getCost(best.get(i)));
+			for (int j = 0; j < names.size(); j++) {
+				assertEquals(names.get(j), best.get(i).get(j).getName());
+			}
+		}
+
+		//Parallel search returns the same schedules every time
+		assertEquals(best, new ScheduleOptimizer(catalog, names, cost).findBest(10));
+
+		List<List<Course>> all = new ScheduleOptimizer(catalog, names, cost).findBest(Integer.MAX_VALUE / 2);
+		assertEquals(allCosts.size(), all.size());
+	}
+
+	/**
+	 * Tests requests with no courses, an unknown course and an invalid k.
+	 */
+	@Test
+	public void testEdgeCases() {
+		List<Course> catalog = randomCatalog();
+		ScheduleCost cost = new ScheduleCost(1, 1, 900, 1, 1);
+		List<List<Course>> none = new ScheduleOptimizer(catalog, new ArrayList<String>(), cost).findBest(3);
+		assertEquals(1, none.size());
+		assertTrue(none.get(0).isEmpty());
+
+		assertTrue(new ScheduleOptimizer(catalog, Arrays.asList("CSC116", "CSC492"), cost).findBest(3).isEmpty());
+		assertEquals(8, new ScheduleOptimizer(catalog, Arrays.asList("CSC116"), cost).findBest(20).size());
+
+		try {
+			new ScheduleOptimizer(catalog, Arrays.asList("CSC116"), cost).findBest(0);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid number of schedules.", e.getMessage());
+		}
+	}
+}
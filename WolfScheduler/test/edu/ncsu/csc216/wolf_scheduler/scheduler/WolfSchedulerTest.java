@@ -7,13 +7,18 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictPair;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.MappedCatalog;
 
 /**
  * Tests the WolfScheduler class.
@@ -107,6 +112,243 @@ public class WolfSchedulerTest {
 		assertEquals(c, ws.getCourseFromCatalog("CSC216", "001"));
 	}
 	
+	/**
+	 * Test WolfScheduler.getCatalogConflicts().
+	 */
+	@Test
+	public void testGetCatalogConflicts() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		List<ConflictPair> conflicts = ws.getCatalogConflicts();
+		assertEquals(2, conflicts.size());
+		assertEquals(ws.getCourseFromCatalog("CSC116", "001"), conflicts.get(0).getFirst());
+		assertEquals(ws.getCourseFromCatalog("CSC226", "001"), conflicts.get(0).getSecond());
+		assertEquals(ws.getCourseFromCatalog("CSC116", "002"), conflicts.get(1).getFirst());
+		assertEquals(ws.getCourseFromCatalog("CSC230", "001"), conflicts.get(1).getSecond());
+		
+		assertEquals(0, new WolfScheduler(invalidTestFile).getCatalogConflicts().size());
+	}
+	
+	/**
+	 * Test WolfScheduler.conflictsWithSchedule().
+	 */
+	@Test
+	public void testConflictsWithSchedule() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertFalse(ws.conflictsWithSchedule("CSC226", "001"));
+		assertFalse(ws.conflictsWithSchedule("CSC492", "001"));
+		
+		assertTrue(ws.addCourse("CSC116", "001"));
+		assertTrue(ws.conflictsWithSchedule("CSC226", "001"));
+		assertFalse(ws.conflictsWithSchedule("CSC230", "001"));
+		assertFalse(ws.conflictsWithSchedule("CSC216", "601"));
+		
+		ws.addEvent("Lunch", "W", 1200, 1300, 1, "Food");
+		assertTrue(ws.conflictsWithSchedule("CSC230", "001"));
+		
+		ws.resetSchedule();
+		assertFalse(ws.conflictsWithSchedule("CSC226", "001"));
+	}
+	
+	/**
+	 * Test WolfScheduler.generateSchedules().
+	 */
+	@Test
+	public void testGenerateSchedules() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//CSC116-001 conflicts with CSC226-001
+		List<List<Course>> schedules = ws.generateSchedules(Arrays.asList("CSC116", "CSC226"))
+				.collect(Collectors.toList());
+		assertEquals(2, schedules.size());
+		for (List<Course> schedule : schedules) {
+			assertEquals("CSC116", schedule.get(0).getName());
+			assertNotEquals("001", schedule.get(0).getSection());
+			assertEquals("CSC226", schedule.get(1).getName());
+		}
+		
+		assertEquals(6, ws.generateSchedules(Arrays.asList("CSC116", "CSC216", "CSC226")).count());
+		assertEquals(6, ws.generateSchedules(Arrays.asList("CSC116", "CSC216", "CSC226")).parallel().count());
+		assertTrue(ws.generateSchedules(Arrays.asList("CSC216", "CSC230")).findFirst().isPresent());
+	}
+	
+	/**
+	 * Test WolfScheduler.findBestSchedules().
+	 */
+	@Test
+	public void testFindBestSchedules() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		//Avoid gaps and starting before 10:00AM
+		ScheduleCost cost = new ScheduleCost(1, 1, 1000, 0, 0);
+		List<List<Course>> best = ws.findBestSchedules(Arrays.asList("CSC216", "CSC116"), cost, 20);
+		assertEquals(9, best.size());
+		long[] expected = {0, 0, 0, 0, 40, 40, 100, 100, 400};
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], cost.getCost(best.get(i)));
+			assertEquals("CSC216", best.get(i).get(0).getName());
+			assertEquals("CSC116", best.get(i).get(1).getName());
+		}
+		//CSC116-001 starts at 9:10AM on M and W and leaves a 150 minute gap before CSC216-002
+		assertEquals("001", best.get(8).get(1).getSection());
+		assertEquals("002", best.get(8).get(0).getSection());
+		
+		assertEquals(best.subList(0, 4), ws.findBestSchedules(Arrays.asList("CSC216", "CSC116"), cost, 4));
+	}
+	
+	/**
+	 * Test WolfScheduler.WolfScheduler(CourseCatalog) with a catalog shared by two schedulers.
+	 */
+	@Test
+	public void testSharedCatalog() {
+		WolfScheduler first = new WolfScheduler(validTestFile);
+		WolfScheduler second = new WolfScheduler(first.getCatalog());
+		assertSame(first.getCatalog(), second.getCatalog());
+		assertSame(first.getCourseFromCatalog("CSC216", "001"), second.getCourseFromCatalog("CSC216", "001"));
+		assertArrayEquals(first.getCourseCatalog(), second.getCourseCatalog());
+		
+		assertTrue(first.addCourse("CSC116", "001"));
+		assertEquals(1, first.getScheduledActivities().length);
+		assertEquals(0, second.getScheduledActivities().length);
+		assertTrue(second.addCourse("CSC116", "002"));
+		assertTrue(first.conflictsWithSchedule("CSC226", "001"));
+		assertFalse(second.conflictsWithSchedule("CSC226", "001"));
+		
+		try {
+			new WolfScheduler((CourseCatalog) null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog.", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Test WolfScheduler.WolfScheduler(CatalogManager, String).
+	 */
+	@Test
+	public void testTermCatalog() {
+		CatalogManager manager = new CatalogManager(1);
+		manager.addTerm("FA", validTestFile);
+		WolfScheduler fall = new WolfScheduler(manager, "FA");
+		WolfScheduler other = new WolfScheduler(manager, "FA");
+		assertSame(fall.getCatalog(), other.getCatalog());
+		assertEquals(8, fall.getCourseCatalog().length);
+		
+		try {
+			new WolfScheduler(manager, "SP");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid term.", e.getMessage());
+		}
+	}
+	
+	/**
+	 * Test WolfScheduler with a catalog mapped from a catalog file.
+	 * @throws IOException if the catalog file can't be written
+	 */
+	@Test
+	public void testMappedCatalog() throws IOException {
+		WolfScheduler expected = new WolfScheduler(validTestFile);
+		File file = File.createTempFile("catalog", ".bin");
+		file.deleteOnExit();
+		MappedCatalog.write(file.getPath(), expected.getCatalog().getCourses());
+		
+		WolfScheduler ws = new WolfScheduler(CourseCatalog.map(file.getPath()));
+		assertArrayEquals(expected.getCourseCatalog(), ws.getCourseCatalog());
+		assertEquals(expected.getCourseFromCatalog("CSC216", "601"), ws.getCourseFromCatalog("CSC216", "601"));
+		assertNull(ws.getCourseFromCatalog("CSC216", "999"));
+		assertTrue(ws.addCourse("CSC116", "001"));
+		assertTrue(ws.conflictsWithSchedule("CSC226", "001"));
+		assertEquals(2, ws.getCatalogConflicts().size());
+		
+		try {
+			CourseCatalog.map(validTestFile);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid catalog file.", e.getMessage());
+		}
+		
+		// The constructor tells a snapshot from a course records file
+		MappedCatalog.convert(validTestFile, file.getPath());
+		ws = new WolfScheduler(file.getPath());
+		assertArrayEquals(expected.getCourseCatalog(), ws.getCourseCatalog());
+		assertTrue(ws.addCourse("CSC216", "601"));
+		
+		// Rebuilding the snapshot while it is mapped leaves the running scheduler on the old one
+		File records = File.createTempFile("course_records", ".txt");
+		records.deleteOnExit();
+		Files.write(records.toPath(), Arrays.asList("CSC492,Senior Design,001,4,jep,A"));
+		MappedCatalog.convert(records.getPath(), file.getPath());
+		assertArrayEquals(expected.getCourseCatalog(), ws.getCourseCatalog());
+		assertTrue(ws.addCourse("CSC116", "002"));
+		assertEquals(1, new WolfScheduler(file.getPath()).getCourseCatalog().length);
+		try {
+			MappedCatalog.convert("test-files/nonexistent.txt", file.getPath());
+			fail();
+		} catch (IOException e) {
+			assertEquals(1, new WolfScheduler(file.getPath()).getCourseCatalog().length);
+		}
+	}
+	
+	/**
+	 * Test WolfScheduler.queryCatalog().
+	 */
+	@Test
+	public void testQueryCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		List<Course> found = ws.queryCatalog().namePrefix("CSC").meetsOn("MW").between(900, 1200).results();
+		assertEquals(2, found.size());
+		assertEquals(ws.getCourseFromCatalog("CSC116", "001"), found.get(0));
+		assertEquals(ws.getCourseFromCatalog("CSC226", "001"), found.get(1));
+		
+		assertEquals(8, ws.queryCatalog().fitsSchedule().count());
+		assertTrue(ws.addCourse("CSC216", "002"));
+		assertTrue(ws.addCourse("CSC226", "001"));
+		found = ws.queryCatalog().credits(3).fitsSchedule().results();
+		assertEquals(3, found.size());
+		assertEquals(ws.getCourseFromCatalog("CSC116", "002"), found.get(0));
+		assertEquals(ws.getCourseFromCatalog("CSC116", "003"), found.get(1));
+		assertEquals(ws.getCourseFromCatalog("CSC230", "001"), found.get(2));
+	}
+	
+	/**
+	 * Test WolfScheduler.searchCatalog().
+	 */
+	@Test
+	public void testSearchCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		String[][] found = ws.searchCatalog("CSC2");
+		assertEquals(5, found.length);
+		assertEquals("CSC216", found[0][0]);
+		assertEquals("001", found[0][1]);
+		assertEquals("CSC230", found[4][0]);
+		
+		found = ws.searchCatalog("java");
+		assertEquals(6, found.length);
+		assertEquals("601", found[5][1]);
+		assertEquals("Programming Concepts - Java", found[5][2]);
+		
+		assertEquals(ws.getCourseCatalog().length, ws.searchCatalog("").length);
+		assertEquals(0, ws.searchCatalog("Python").length);
+	}
+	
+	/**
+	 * Test WolfScheduler.findCourses().
+	 */
+	@Test
+	public void testFindCourses() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		int any = CatalogAttributeIndex.ANY;
+		
+		List<Course> found = ws.findCourses("jtking", "MW", 1200, any, 4);
+		assertEquals(1, found.size());
+		assertEquals(ws.getCourseFromCatalog("CSC216", "002"), found.get(0));
+		
+		assertEquals(2, ws.findCourses(null, "TH", any, any, any).size());
+		assertEquals(5, ws.findCourses(null, null, any, any, 3).size());
+		assertEquals(0, ws.findCourses("jtking", "TH", any, any, any).size());
+	}
+	
 	/**
 	 * Test WolfScheduler.addCourse().
 	 */
@@ -327,7 +569,7 @@ public class WolfSchedulerTest {
 		//Name, section, title
 		assertTrue(ws.addCourse(NAME, SECTION));
 		assertTrue(ws.addCourse("CSC226", "001"));
-		ws.addEvent("Lunch", "MWF", 1200, 1300, 1, "Food");
+		ws.addEvent("Lunch", "F", 1200, 1300, 1, "Food");
 		assertTrue(ws.addCourse("CSC116", "002"));
 		
 		String [][] schedule = ws.getScheduledActivities();
@@ -345,7 +587,7 @@ public class WolfSchedulerTest {
 		assertEquals("", schedule[2][0]);
 		assertEquals("", schedule[2][1]);
 		assertEquals("Lunch", schedule[2][2]);
-		assertEquals("MWF 12:00PM-1:00PM (every 1 weeks)", schedule[2][3]);
+		assertEquals("F 12:00PM-1:00PM (every 1 weeks)", schedule[2][3]);
 		//Row 3
 		assertEquals("CSC116", schedule[3][0]);
 		assertEquals("002", schedule[3][1]);
@@ -364,7 +606,7 @@ public class WolfSchedulerTest {
 		//Name, section, title, credits, instructor id, meeting string
 		assertTrue(ws.addCourse(NAME, SECTION));
 		assertTrue(ws.addCourse("CSC226", "001"));
-		ws.addEvent("Lunch", "MWF", 1200, 1300, 1, "Food");
+		ws.addEvent("Lunch", "F", 1200, 1300, 1, "Food");
 		assertTrue(ws.addCourse("CSC116", "002"));
 		
 		String [][] schedule = ws.getFullScheduledActivities();
@@ -388,7 +630,7 @@ public class WolfSchedulerTest {
 		assertEquals("Lunch", schedule[2][2]);
 		assertEquals("", schedule[2][3]);
 		assertEquals("", schedule[2][4]);
-		assertEquals("MWF 12:00PM-1:00PM (every 1 weeks)", schedule[2][5]);
+		assertEquals("F 12:00PM-1:00PM (every 1 weeks)", schedule[2][5]);
 		assertEquals("Food", schedule[2][6]);
 		//Row 3
 		assertEquals("CSC116", schedule[3][0]);
@@ -438,6 +680,66 @@ public class WolfSchedulerTest {
 		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_schedule_export.txt");
 	}
 	
+	/**
+	 * Test WolfScheduler.importSchedule().
+	 */
+	@Test
+	public void testImportSchedule() throws IOException {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.addCourse("CSC216", "002");
+		ws.addCourse("CSC226", "001");
+		ws.addEvent(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_WEEKLY_REPEAT,
+				"Cardio, then stretching");
+		ws.exportSchedule("test-files/actual_schedule_export.txt");
+
+		//A restored schedule shares the catalog's sections and replaces what was there
+		WolfScheduler restored = new WolfScheduler(ws.getCatalog());
+		restored.addCourse("CSC116", "001");
+		CatalogQuery query = restored.queryCatalog();
+		assertArrayEquals(new int[0], restored.importSchedule("test-files/actual_schedule_export.txt"));
+		assertArrayEquals(ws.getFullScheduledActivities(), restored.getFullScheduledActivities());
+		//A query made before the import sees the imported schedule
+		assertEquals(restored.queryCatalog().fitsSchedule().results(), query.fitsSchedule().results());
+
+		//Lines that aren't valid, aren't in the catalog, or are duplicates or conflicts are skipped
+		File file = File.createTempFile("schedule", ".txt");
+		file.deleteOnExit();
+		List<String> lines = Arrays.asList(
+				"CSC216,Programming Concepts - Java,002,4,jtking,MW,1330,1445",
+				"CSC216,Programming Concepts - Java,001,4,sesmith5,MW,1330,1445",
+				"CSC999,Unknown Course,001,3,someone,MW,800,900",
+				"Exercise,MW,1400,1500,1,Conflicts with CSC216",
+				"Exercise,MW,800,900,1,Before class",
+				"Exercise,F,800,900,1,Same title",
+				"not a record",
+				"CSC116,Intro to Programming - Java,002,3,spbalik,MW,1120,1310",
+				"CSC230,C and Software Tools,001,3,dbsturgi,MW,1145,1300");
+		Files.write(file.toPath(), lines);
+		assertArrayEquals(new int[] {2, 3, 4, 6, 7, 9}, restored.importSchedule(file.getPath()));
+		String[][] schedule = restored.getScheduledActivities();
+		assertEquals(3, schedule.length);
+		assertEquals("CSC216", schedule[0][0]);
+		assertEquals(EVENT_TITLE, schedule[1][2]);
+		assertEquals("CSC116", schedule[2][0]);
+
+		//The index is replaced along with the schedule
+		try {
+			restored.addEvent(EVENT_TITLE, "U", 800, 900, 1, "");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("You have already created an event called " + EVENT_TITLE, e.getMessage());
+		}
+		assertTrue(restored.addCourse("CSC226", "001"));
+
+		try {
+			restored.importSchedule("test-files/nonexistent.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+			assertEquals(4, restored.getScheduledActivities().length);
+		}
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output